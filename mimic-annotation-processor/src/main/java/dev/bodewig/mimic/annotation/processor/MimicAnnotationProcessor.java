@@ -3,7 +3,11 @@ package dev.bodewig.mimic.annotation.processor;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,24 +15,38 @@ import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
-import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
 import dev.bodewig.mimic.annotation.Mimic;
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.FieldAdapter;
+import dev.bodewig.mimic.generator.MimicFeature;
 import dev.bodewig.mimic.generator.MimicGenerator;
+import dev.bodewig.mimic.generator.MimicOptions;
+import dev.bodewig.mimic.generator.ModelAdapter;
 
 /**
  * Generator to create Mimics for annotated and configured classes via
  * {@code compilerArgs}
+ * <p>
+ * The processor is registered as a dynamic incremental processor for Gradle.
+ * It is isolating unless classes are configured via {@link #OPTION_MIMIC_CLASSES},
+ * since these are not tied to a single annotated source file.
  */
-@SupportedOptions({ MimicAnnotationProcessor.OPTION_PACKAGE_NAME, MimicAnnotationProcessor.OPTION_MIMIC_CLASSES })
-@SupportedAnnotationTypes("*")
+@SupportedOptions({ MimicAnnotationProcessor.OPTION_PACKAGE_NAME, MimicAnnotationProcessor.OPTION_MIMIC_CLASSES,
+		MimicAnnotationProcessor.OPTION_SOURCE_CLASSES_ONLY, MimicAnnotationProcessor.OPTION_ACCESSOR,
+		MimicAnnotationProcessor.OPTION_FEATURES })
 @SupportedSourceVersion(SourceVersion.RELEASE_19)
 public class MimicAnnotationProcessor extends AbstractProcessor {
 
@@ -42,6 +60,37 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 	 */
 	public static final String OPTION_MIMIC_CLASSES = "mimic.classes";
 
+	/**
+	 * The option name to only create Mimics for the classes configured via
+	 * {@link #OPTION_MIMIC_CLASSES} that are compiled from source, e.g. if the
+	 * classes of the classpath are created by the Gradle {@code spawnMimics} task
+	 */
+	public static final String OPTION_SOURCE_CLASSES_ONLY = "mimic.sourceClassesOnly";
+
+	/**
+	 * The option name to pass a default {@link AccessorMode} for the created
+	 * Mimics
+	 */
+	public static final String OPTION_ACCESSOR = "mimic.accessor";
+
+	/**
+	 * The option name to pass a list of {@link MimicFeature}s for the created
+	 * Mimics
+	 */
+	public static final String OPTION_FEATURES = "mimic.features";
+
+	/**
+	 * The option Gradle expects in {@link #getSupportedOptions()} from an isolating
+	 * dynamic processor
+	 */
+	public static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+
+	/**
+	 * The option Gradle expects in {@link #getSupportedOptions()} from an
+	 * aggregating dynamic processor
+	 */
+	public static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
 	/**
 	 * Already processed classes
 	 * <p>
@@ -62,6 +111,42 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 		processed = new HashSet<>();
 	}
 
+	/**
+	 * Adds the Gradle incremental processing category to the supported options
+	 */
+	@Override
+	public Set<String> getSupportedOptions() {
+		Set<String> options = new HashSet<>(super.getSupportedOptions());
+		options.add(hasConfiguredClasses() ? GRADLE_AGGREGATING : GRADLE_ISOLATING);
+		return options;
+	}
+
+	/**
+	 * Narrows the supported annotations to {@link Mimic} unless classes are
+	 * configured via {@link #OPTION_MIMIC_CLASSES}, which are processed regardless
+	 * of their annotations
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		if (hasConfiguredClasses()) {
+			return Set.of("*");
+		}
+		return Set.of(Mimic.class.getCanonicalName());
+	}
+
+	/**
+	 * Checks if classes are configured via {@link #OPTION_MIMIC_CLASSES}
+	 *
+	 * @return {@code true} if the option is present and not blank
+	 */
+	protected boolean hasConfiguredClasses() {
+		if (processingEnv == null) {
+			return false;
+		}
+		String classList = processingEnv.getOptions().get(OPTION_MIMIC_CLASSES);
+		return classList != null && !classList.isBlank();
+	}
+
 	@Override
 	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 		String classList = processingEnv.getOptions().get(OPTION_MIMIC_CLASSES);
@@ -73,11 +158,15 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 			classes = Set.of(classArray);
 		}
 		String packageName = processingEnv.getOptions().get(OPTION_PACKAGE_NAME);
+		AccessorMode accessor = parseAccessor(processingEnv.getOptions().get(OPTION_ACCESSOR));
+		Set<MimicFeature> features = parseFeatures(processingEnv.getOptions().get(OPTION_FEATURES));
 
 		Elements util = processingEnv.getElementUtils();
 
 		Set<TypeElement> annotated = roundEnv.getElementsAnnotatedWith(Mimic.class).stream().map(c -> (TypeElement) c)
 				.collect(Collectors.toSet());
+		boolean sourceClassesOnly = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_SOURCE_CLASSES_ONLY));
+
 		Set<TypeElement> configured = classes.stream().map(className -> {
 			Set<? extends Element> elements = util.getAllTypeElements(className);
 			if (elements.isEmpty()) {
@@ -87,7 +176,8 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 			} else {
 				return elements.iterator().next();
 			}
-		}).map(c -> (TypeElement) c).collect(Collectors.toSet());
+		}).map(c -> (TypeElement) c).filter(c -> !sourceClassesOnly || isSource(c, roundEnv))
+				.collect(Collectors.toSet());
 
 		Set<TypeElement> combined = new HashSet<>(annotated);
 		combined.addAll(configured);
@@ -98,22 +188,27 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 		try {
 			Filer filer = processingEnv.getFiler();
 			for (TypeElement type : combined) {
-				String pkg = packageName;
-				Mimic annotation = type.getAnnotation(Mimic.class);
-				if (annotation != null) {
-					if (!annotation.packageName().equals(Mimic.PACKAGE_FROM_COMPILER_ARG)) {
-						pkg = annotation.packageName();
-					}
-				}
+				String pkg = resolvePackage(type, packageName);
 				if (pkg == null) {
 					String simpleName = MimicGenerator.buildSimpleMimicName(type.getSimpleName().toString());
 					throw new RuntimeException("Target package for Mimic " + simpleName + " is missing! "
 							+ "Define a package via compilerArgs or as annotation parameter.");
 				}
+				Set<MimicFeature> typeFeatures = resolveFeatures(type, features);
+				Map<String, String> delegates = new HashMap<>();
+				Set<String> allocatable = new HashSet<>();
+				findDelegates(type, typeFeatures, classes, packageName, features, delegates, allocatable);
+				MimicOptions options = new MimicOptions(resolveAccessor(type, accessor), typeFeatures, delegates,
+						allocatable);
 				name = MimicGenerator.buildQualifiedMimicName(pkg, type.getSimpleName().toString());
-				JavaFileObject file = filer.createSourceFile(name);
+				JavaFileObject file = filer.createSourceFile(name, type);
 				try (Writer writer = file.openWriter()) {
-					MimicGenerator.createMimicFromType(type, pkg, writer);
+					MimicGenerator.createMimicFromType(type, pkg, options, writer);
+				}
+				List<String> unencoded = MimicGenerator.findUnencodedFields(ModelAdapter.fromType(type), options);
+				if (!unencoded.isEmpty()) {
+					processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+							"Fields " + unencoded + " cannot be encoded and are skipped by the binary codec", type);
 				}
 			}
 		} catch (IOException e) {
@@ -122,4 +217,173 @@ public class MimicAnnotationProcessor extends AbstractProcessor {
 
 		return false;
 	}
+
+	/**
+	 * Checks if a type is compiled from source in the current round
+	 *
+	 * @param type     The type
+	 * @param roundEnv The environment of the current round
+	 * @return If the top level type enclosing the type is a root element of the
+	 *         round
+	 */
+	protected boolean isSource(TypeElement type, RoundEnvironment roundEnv) {
+		Element topLevel = type;
+		while (topLevel.getEnclosingElement() instanceof TypeElement enclosing) {
+			topLevel = enclosing;
+		}
+		return roundEnv.getRootElements().contains(topLevel);
+	}
+
+	/**
+	 * Resolves the target package of the Mimic of a type
+	 *
+	 * @param type        The mimicked type
+	 * @param packageName The package passed as {@code compilerArg}, may be
+	 *                    {@code null}
+	 * @return The package from the {@link Mimic} annotation, if any, otherwise
+	 *         {@code packageName}
+	 */
+	protected String resolvePackage(TypeElement type, String packageName) {
+		Mimic annotation = type.getAnnotation(Mimic.class);
+		if (annotation != null && !annotation.packageName().equals(Mimic.PACKAGE_FROM_COMPILER_ARG)) {
+			return annotation.packageName();
+		}
+		return packageName;
+	}
+
+	/**
+	 * Resolves the {@link AccessorMode} of the Mimic of a type
+	 *
+	 * @param type     The mimicked type
+	 * @param accessor The accessor passed as {@code compilerArg}
+	 * @return The accessor from the {@link Mimic} annotation, if any, otherwise
+	 *         {@code accessor}
+	 */
+	protected AccessorMode resolveAccessor(TypeElement type, AccessorMode accessor) {
+		Mimic annotation = type.getAnnotation(Mimic.class);
+		if (annotation != null && annotation.accessor() != Mimic.Accessor.FROM_COMPILER_ARG) {
+			return AccessorMode.valueOf(annotation.accessor().name());
+		}
+		return accessor;
+	}
+
+	/**
+	 * Resolves the {@link MimicFeature}s of the Mimic of a type
+	 *
+	 * @param type     The mimicked type
+	 * @param features The features passed as {@code compilerArg}
+	 * @return The features passed as {@code compilerArg} and those of the
+	 *         {@link Mimic} annotation
+	 */
+	protected Set<MimicFeature> resolveFeatures(TypeElement type, Set<MimicFeature> features) {
+		Set<MimicFeature> typeFeatures = EnumSet.noneOf(MimicFeature.class);
+		typeFeatures.addAll(features);
+		Mimic annotation = type.getAnnotation(Mimic.class);
+		if (annotation != null) {
+			for (Mimic.Feature feature : annotation.features()) {
+				typeFeatures.add(MimicFeature.valueOf(feature.name()));
+			}
+		}
+		return typeFeatures;
+	}
+
+	/**
+	 * Finds the Mimics the Mimic of a type may delegate to, e.g. with
+	 * {@link MimicFeature#DEEP_CLONE}
+	 * <p>
+	 * The delegates are decided from the types of the fields alone: a field type
+	 * is a delegate if it is annotated with {@link Mimic} or configured via
+	 * {@link #OPTION_MIMIC_CLASSES} and its Mimic has all delegating features of
+	 * the type. The field types are read with {@link Elements#getTypeElement}, so
+	 * the result does not depend on the other types processed in the same
+	 * compilation, e.g. in an incremental build.
+	 *
+	 * @param type         The mimicked type
+	 * @param typeFeatures The features of the Mimic of the type
+	 * @param classes      The classes configured via {@link #OPTION_MIMIC_CLASSES}
+	 * @param packageName  The package passed as {@code compilerArg}, may be
+	 *                     {@code null}
+	 * @param features     The features passed as {@code compilerArg}
+	 * @param delegates    Receives the qualified Mimic names by the canonical name
+	 *                     of the field type
+	 * @param allocatable  Receives the canonical names of the delegates whose
+	 *                     Mimics can allocate instances
+	 */
+	protected void findDelegates(TypeElement type, Set<MimicFeature> typeFeatures, Set<String> classes,
+			String packageName, Set<MimicFeature> features, Map<String, String> delegates, Set<String> allocatable) {
+		Set<MimicFeature> delegating = EnumSet.noneOf(MimicFeature.class);
+		for (MimicFeature feature : typeFeatures) {
+			if (MimicGenerator.delegatesToMimics(EnumSet.of(feature))) {
+				delegating.add(feature);
+			}
+		}
+		if (delegating.isEmpty()) {
+			return;
+		}
+		Elements util = processingEnv.getElementUtils();
+		for (FieldAdapter<Element> f : ModelAdapter.fromType(type).getFields()) {
+			TypeName fieldType = f.getRawType();
+			while (fieldType instanceof ArrayTypeName array) {
+				fieldType = array.componentType;
+			}
+			if (!(fieldType instanceof ClassName className)) {
+				continue;
+			}
+			String canonicalName = className.canonicalName();
+			TypeElement element = util.getTypeElement(canonicalName);
+			if (element == null || delegates.containsKey(canonicalName)
+					|| (element.getAnnotation(Mimic.class) == null && !classes.contains(canonicalName))) {
+				continue;
+			}
+			String pkg = resolvePackage(element, packageName);
+			if (pkg == null || !resolveFeatures(element, features).containsAll(delegating)) {
+				continue;
+			}
+			delegates.put(canonicalName,
+					MimicGenerator.buildQualifiedMimicName(pkg, element.getSimpleName().toString()));
+			if (MimicGenerator.canAllocate(ModelAdapter.fromType(element))) {
+				allocatable.add(canonicalName);
+			}
+		}
+	}
+
+	/**
+	 * Parses the {@link AccessorMode} passed as {@code compilerArg}
+	 *
+	 * @param value The option value, may be {@code null}
+	 * @return The parsed accessor or {@link AccessorMode#REFLECTION} if no value is
+	 *         passed
+	 */
+	protected AccessorMode parseAccessor(String value) {
+		if (value == null || value.isBlank()) {
+			return AccessorMode.REFLECTION;
+		}
+		try {
+			return AccessorMode.valueOf(value.strip());
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Unknown accessor " + value + " passed as " + OPTION_ACCESSOR + "!", e);
+		}
+	}
+
+	/**
+	 * Parses the comma-separated {@link MimicFeature}s passed as
+	 * {@code compilerArg}
+	 *
+	 * @param value The option value, may be {@code null}
+	 * @return The parsed features
+	 */
+	protected Set<MimicFeature> parseFeatures(String value) {
+		Set<MimicFeature> features = EnumSet.noneOf(MimicFeature.class);
+		if (value == null || value.isBlank()) {
+			return features;
+		}
+		for (String feature : value.split(",")) {
+			try {
+				features.add(MimicFeature.valueOf(feature.strip()));
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("Unknown feature " + feature + " passed as " + OPTION_FEATURES + "!", e);
+			}
+		}
+		return features;
+	}
 }
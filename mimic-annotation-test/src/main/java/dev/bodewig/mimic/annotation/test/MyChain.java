@@ -0,0 +1,17 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.BINARY_CODEC })
+public class MyChain {
+
+	private int value;
+
+	private MyChain next;
+
+	public MyChain(int value) {
+		this.value = value;
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = Mimic.Feature.ATOMICS)
+public class MyConstantNames {
+
+	private int fooBar = 1;
+
+	private int foo_bar = 2;
+
+	private final long fooId = 3;
+
+	private final long foo_id = 4;
+}
@@ -0,0 +1,10 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.REFLECTION)
+public class MyCounter {
+
+	private long total = 0;
+}
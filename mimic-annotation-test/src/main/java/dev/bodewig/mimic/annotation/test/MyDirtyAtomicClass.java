@@ -0,0 +1,15 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = {
+		Mimic.Feature.DIRTY_TRACKING, Mimic.Feature.ATOMICS, Mimic.Feature.SNAPSHOT, Mimic.Feature.COPY })
+public class MyDirtyAtomicClass {
+
+	private long version = 0;
+
+	private int count = 0;
+
+	private String label = "initial";
+}
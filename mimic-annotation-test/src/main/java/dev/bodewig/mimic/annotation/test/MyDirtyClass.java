@@ -0,0 +1,13 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = {
+		Mimic.Feature.DIRTY_TRACKING, Mimic.Feature.FLYWEIGHT })
+public class MyDirtyClass extends MyTestClass {
+
+	private long version = 0;
+
+	private boolean active = true;
+}
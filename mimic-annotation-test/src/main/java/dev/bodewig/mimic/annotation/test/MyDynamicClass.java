@@ -0,0 +1,17 @@
+package dev.bodewig.mimic.annotation.test;
+
+import java.util.List;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.DYNAMIC_ACCESS })
+public class MyDynamicClass extends MyTestClass {
+
+	private static int created;
+
+	private double weight = 1.5;
+
+	private List<String> tags = List.of();
+}
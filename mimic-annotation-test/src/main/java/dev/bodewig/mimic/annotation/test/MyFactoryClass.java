@@ -0,0 +1,33 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = Mimic.Feature.FACTORIES)
+public class MyFactoryClass {
+
+	private final String name;
+
+	private final int size;
+
+	private MyFactoryClass() {
+		this("default", 0);
+	}
+
+	MyFactoryClass(String name) {
+		this(name, 1);
+	}
+
+	public MyFactoryClass(String name, int size) {
+		this.name = name;
+		this.size = size;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,17 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.ATOMICS, Mimic.Feature.SNAPSHOT })
+public class MyHandleClass extends MyTestClass {
+
+	private final long id;
+
+	private long total = 1;
+
+	public MyHandleClass(long id) {
+		this.id = id;
+	}
+}
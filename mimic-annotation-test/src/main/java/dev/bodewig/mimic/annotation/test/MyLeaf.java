@@ -0,0 +1,21 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.DEEP_CLONE })
+public class MyLeaf {
+
+	private final long value;
+
+	private MyNode owner;
+
+	private MyLeaf() {
+		this(0);
+	}
+
+	public MyLeaf(long value) {
+		this.value = value;
+	}
+}
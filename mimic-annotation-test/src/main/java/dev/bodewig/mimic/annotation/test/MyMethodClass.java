@@ -0,0 +1,36 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = Mimic.Feature.METHODS)
+public class MyMethodClass extends MyTestClass {
+
+	private int calls = 0;
+
+	private int add(int a, int b) {
+		calls++;
+		return a + b;
+	}
+
+	private double add(double a, double b) {
+		calls++;
+		return a + b;
+	}
+
+	protected void reset() {
+		calls = 0;
+	}
+
+	private void fail() throws Exception {
+		throw new Exception("checked");
+	}
+
+	private static String describe(Object o) {
+		return "described " + o;
+	}
+
+	public int getCalls() {
+		return calls;
+	}
+}
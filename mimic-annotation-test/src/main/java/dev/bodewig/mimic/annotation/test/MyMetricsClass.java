@@ -0,0 +1,12 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = Mimic.Feature.METRICS)
+public class MyMetricsClass {
+
+	private int hits = 0;
+
+	private String label = "metrics";
+}
@@ -0,0 +1,19 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.DEEP_CLONE })
+public class MyNode {
+
+	private String label;
+
+	private int[] weights;
+
+	private MyNode next;
+
+	private MyNode[] children;
+
+	private MyLeaf leaf;
+}
@@ -0,0 +1,37 @@
+package dev.bodewig.mimic.annotation.test;
+
+import java.util.List;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.BINARY_CODEC })
+public class MyPacket {
+
+	private int id;
+
+	private long timestamp;
+
+	private boolean urgent;
+
+	private char code;
+
+	private double weight;
+
+	private String payload;
+
+	private int[] values;
+
+	private byte[] raw;
+
+	private boolean[] flags;
+
+	private MyPacket next;
+
+	private Integer priority;
+
+	private Boolean acked;
+
+	private List<String> tags;
+}
@@ -0,0 +1,21 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.OFF_HEAP_STORE })
+public class MyPoint {
+
+	private double x;
+
+	private double y;
+
+	private boolean visible = true;
+
+	private short layer;
+
+	private String label;
+
+	private Object attachment;
+}
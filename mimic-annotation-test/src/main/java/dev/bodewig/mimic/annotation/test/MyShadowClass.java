@@ -0,0 +1,14 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = Mimic.Feature.SNAPSHOT)
+public class MyShadowClass {
+
+	private Object obj = "obj";
+
+	private int other = 1;
+
+	private long hash = 2;
+}
@@ -0,0 +1,15 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", accessor = Mimic.Accessor.VAR_HANDLE, features = {
+		Mimic.Feature.STATE_EQUALITY })
+public class MyState extends MyTestClass {
+
+	private static int instances;
+
+	private double ratio = Double.NaN;
+
+	private int[] values = { 1, 2 };
+}
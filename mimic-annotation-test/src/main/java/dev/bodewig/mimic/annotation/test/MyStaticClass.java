@@ -0,0 +1,19 @@
+package dev.bodewig.mimic.annotation.test;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+@SuppressWarnings("unused")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = {
+		Mimic.Feature.CONSTANTS, Mimic.Feature.ATOMICS })
+public class MyStaticClass {
+
+	public static String label = "static";
+
+	private static int instances = 0;
+
+	private static final String PREFIX = String.valueOf("prefix");
+
+	public MyStaticClass() {
+		instances++;
+	}
+}
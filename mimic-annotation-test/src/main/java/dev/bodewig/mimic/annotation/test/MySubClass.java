@@ -3,7 +3,9 @@ package dev.bodewig.mimic.annotation.test;
 import dev.bodewig.mimic.annotation.Mimic;
 
 @SuppressWarnings("unused")
-@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated")
+@Mimic(packageName = "dev.bodewig.mimic.annotation.test.generated", features = {
+		Mimic.Feature.SNAPSHOT, Mimic.Feature.COPY, Mimic.Feature.STATIC_ACCESSORS, Mimic.Feature.FLYWEIGHT,
+		Mimic.Feature.BULK })
 public class MySubClass extends MyTestClass {
 
 	protected long id = 1;
@@ -9,4 +9,8 @@ public class MyTestClass {
 	public int count = 1;
 
 	private String name = "test";
+
+	private String greet(String other) {
+		return name + " greets " + other;
+	}
 }
@@ -1,9 +1,49 @@
 package dev.bodewig.mimic.annotation.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
 
 import org.junit.jupiter.api.Test;
 
+import dev.bodewig.mimic.annotation.test.generated.MyChainMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyCounterMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyConstantNamesMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyDirtyAtomicClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyDirtyClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyDynamicClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyFactoryClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyHandleClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyLeafMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyMethodClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyMetricsClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyNodeMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyPacketMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyPointMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyShadowClassMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyStateMimic;
+import dev.bodewig.mimic.annotation.test.generated.MyStaticClassMimic;
 import dev.bodewig.mimic.annotation.test.generated.MyTestClassMimic;
 import dev.bodewig.mimic.annotation.test.generated.MySubClassMimic;
 
@@ -53,4 +93,572 @@ class MimicTest {
 		mimic.setName("private");
 		assertEquals("private", mimic.getName());
 	}
+
+	@Test
+	void getPrivateHandle() {
+		MyHandleClass orig = new MyHandleClass(3);
+		MyHandleClassMimic mimic = new MyHandleClassMimic(orig);
+		assertEquals("test", mimic.getName());
+		assertEquals(3, mimic.getId());
+	}
+
+	@Test
+	void setPrivateHandle() {
+		MyHandleClass orig = new MyHandleClass(3);
+		MyHandleClassMimic mimic = new MyHandleClassMimic(orig);
+		mimic.setName("private");
+		assertEquals("private", mimic.getName());
+	}
+
+	@Test
+	void setFinalHandle() {
+		MyHandleClass orig = new MyHandleClass(3);
+		MyHandleClassMimic mimic = new MyHandleClassMimic(orig);
+		mimic.setId(4);
+		assertEquals(4, mimic.getId());
+	}
+
+	@Test
+	void setPrimitive() {
+		MySubClass sub = new MySubClass();
+		MySubClassMimic mimic = new MySubClassMimic(sub);
+		mimic.setId(1_000_000L);
+		assertEquals(1_000_000L, mimic.getId());
+	}
+
+	@Test
+	void primitiveHandleAllocationFree() {
+		MyHandleClassMimic mimic = new MyHandleClassMimic(new MyHandleClass(3));
+		mimic.setTotal(1_000_000L);
+		for (int i = 0; i < 10; i++) {
+			increment(mimic, 100_000);
+		}
+		allocatedBytes();
+		long start = allocatedBytes();
+		long overhead = allocatedBytes() - start;
+		long allocated = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long before = allocatedBytes();
+			increment(mimic, 1_000_000);
+			allocated = Math.min(allocated, allocatedBytes() - before - overhead);
+		}
+		assertEquals(7_000_000L, mimic.getTotal());
+		assertEquals(0, allocated);
+	}
+
+	@Test
+	void primitiveReflectionAllocationFree() {
+		MyCounterMimic mimic = new MyCounterMimic(new MyCounter());
+		for (int i = 0; i < 10; i++) {
+			increment(mimic, 100_000);
+		}
+		allocatedBytes();
+		long start = allocatedBytes();
+		long overhead = allocatedBytes() - start;
+		long allocated = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long before = allocatedBytes();
+			increment(mimic, 1_000_000);
+			allocated = Math.min(allocated, allocatedBytes() - before - overhead);
+		}
+		assertEquals(6_000_000L, mimic.getTotal());
+		assertEquals(0, allocated);
+	}
+
+	@Test
+	void compareAndSet() {
+		MyHandleClassMimic mimic = new MyHandleClassMimic(new MyHandleClass(3));
+		assertTrue(mimic.compareAndSetName("test", "swapped"));
+		assertFalse(mimic.compareAndSetName("test", "again"));
+		assertEquals("swapped", mimic.getNameAcquire());
+	}
+
+	@Test
+	void getAndAdd() {
+		MyHandleClassMimic mimic = new MyHandleClassMimic(new MyHandleClass(3));
+		assertEquals(1, mimic.getAndAddTotal(5));
+		assertEquals(6, mimic.getAndSetTotal(10));
+		assertEquals(10, mimic.getTotalVolatile());
+	}
+
+	@Test
+	void memoryOrdered() {
+		MyHandleClassMimic mimic = new MyHandleClassMimic(new MyHandleClass(3));
+		mimic.setNameRelease("released");
+		assertEquals("released", mimic.getNameVolatile());
+		mimic.setTotalOpaque(7);
+		assertEquals(7, mimic.getTotalOpaque());
+		assertEquals(3, mimic.getIdAcquire());
+	}
+
+	@Test
+	void snapshotRestore() {
+		MySubClass sub = new MySubClass();
+		MySubClassMimic mimic = new MySubClassMimic(sub);
+		MySubClassMimic.Snapshot snapshot = mimic.snapshot();
+		mimic.setName("changed");
+		mimic.setCount(5);
+		mimic.setId(7);
+		mimic.restore(snapshot);
+		assertEquals("test", mimic.getName());
+		assertEquals(1, mimic.getCount());
+		assertEquals(1, mimic.getId());
+		assertEquals("test", snapshot.name());
+		assertEquals(snapshot, mimic.snapshot());
+		assertEquals(snapshot.hashCode(), mimic.snapshot().hashCode());
+		mimic.setId(8);
+		assertNotEquals(snapshot, mimic.snapshot());
+	}
+
+	@Test
+	void handlesOfSameConstantName() {
+		MyConstantNamesMimic mimic = new MyConstantNamesMimic(new MyConstantNames());
+		assertEquals(1, mimic.getFooBar());
+		assertEquals(2, mimic.getFoo_bar());
+		mimic.setFooBar(5);
+		assertEquals(2, mimic.getAndSetFoo_bar(6));
+		assertEquals(5, mimic.getFooBarVolatile());
+		assertEquals(6, mimic.getFoo_bar());
+		mimic.setFooId(7);
+		mimic.setFoo_id(8);
+		assertEquals(7, mimic.getFooId());
+		assertEquals(8, mimic.getFoo_id());
+	}
+
+	@Test
+	void snapshotShadowedNames() {
+		MyShadowClassMimic mimic = new MyShadowClassMimic(new MyShadowClass());
+		MyShadowClassMimic.Snapshot snapshot = mimic.snapshot();
+		assertEquals(snapshot, mimic.snapshot());
+		assertEquals(snapshot.hashCode(), mimic.snapshot().hashCode());
+		mimic.setObj("changed");
+		assertNotEquals(snapshot, mimic.snapshot());
+		mimic.setObj("obj");
+		mimic.setOther(3);
+		assertNotEquals(snapshot, mimic.snapshot());
+		mimic.setOther(1);
+		mimic.setHash(4);
+		assertNotEquals(snapshot, mimic.snapshot());
+		assertNotEquals(snapshot.hashCode(), mimic.snapshot().hashCode());
+		assertEquals("Snapshot[obj=obj, other=1, hash=2]", snapshot.toString());
+	}
+
+	@Test
+	void snapshotRestoreFinal() {
+		MyHandleClassMimic mimic = new MyHandleClassMimic(new MyHandleClass(3));
+		MyHandleClassMimic.Snapshot snapshot = mimic.snapshot();
+		mimic.setId(4);
+		mimic.setTotal(9);
+		mimic.restore(snapshot);
+		assertEquals(3, mimic.getId());
+		assertEquals(1, mimic.getTotal());
+	}
+
+	@Test
+	void copyFromTo() {
+		MySubClass source = new MySubClass();
+		MySubClass target = new MySubClass();
+		MySubClassMimic mimic = new MySubClassMimic(source);
+		mimic.setName("copied");
+		mimic.setId(5);
+		mimic.copyTo(target);
+		MySubClassMimic targetMimic = new MySubClassMimic(target);
+		assertEquals("copied", targetMimic.getName());
+		assertEquals(5, targetMimic.getId());
+		targetMimic.setCount(3);
+		mimic.copyFrom(target);
+		assertEquals(3, mimic.getCount());
+	}
+
+	@Test
+	void copySubset() {
+		MySubClass source = new MySubClass();
+		MySubClassMimic mimic = new MySubClassMimic(source);
+		mimic.setName("copied");
+		mimic.setId(5);
+		MySubClass target = new MySubClass();
+		mimic.copyTo(target, EnumSet.of(MySubClassMimic.Fields.ID));
+		MySubClassMimic targetMimic = new MySubClassMimic(target);
+		assertEquals("test", targetMimic.getName());
+		assertEquals(5, targetMimic.getId());
+	}
+
+	@Test
+	void staticAccessors() {
+		MySubClass sub = new MySubClass();
+		MySubClassMimic.setName(sub, "static");
+		assertEquals("static", MySubClassMimic.getName(sub));
+		MySubClassMimic.setId(sub, 3);
+		assertEquals(3, MySubClassMimic.getId(sub));
+	}
+
+	@Test
+	void flyweight() {
+		MySubClass first = new MySubClass();
+		MySubClass second = new MySubClass();
+		MySubClassMimic mimic = new MySubClassMimic();
+		mimic.bind(first).setName("first");
+		mimic.bind(second).setName("second");
+		assertEquals("first", new MySubClassMimic(first).getName());
+		assertEquals("second", mimic.getName());
+	}
+
+	@Test
+	void gatherScatter() {
+		MySubClass[] array = { new MySubClass(), new MySubClass() };
+		MySubClassMimic.scatterId(array, new long[] { 2, 3 });
+		assertArrayEquals(new long[] { 2, 3 }, MySubClassMimic.gatherId(array));
+		assertArrayEquals(new Object[] { "test", "test" }, MySubClassMimic.gatherName(List.of(array)));
+
+		List<MySubClass> linked = new LinkedList<>(List.of(array));
+		MySubClassMimic.scatterId(linked, new long[] { 4, 5 }, true);
+		assertArrayEquals(new long[] { 4, 5 }, MySubClassMimic.gatherId(linked));
+	}
+
+	@Test
+	void gatherScatterParallel() {
+		List<MySubClass> list = new ArrayList<>();
+		long[] ids = new long[20_000];
+		for (int i = 0; i < ids.length; i++) {
+			list.add(new MySubClass());
+			ids[i] = i;
+		}
+		MySubClassMimic.scatterId(list, ids, true);
+		assertArrayEquals(ids, MySubClassMimic.gatherId(list, true));
+		assertEquals(19_999, MySubClassMimic.getId(list.get(19_999)));
+	}
+
+	@Test
+	void staticFields() {
+		MyStaticClassMimic.setInstances(0);
+		new MyStaticClass();
+		assertEquals(1, MyStaticClassMimic.getInstances());
+		MyStaticClassMimic.setLabel("changed");
+		assertEquals("changed", MyStaticClass.label);
+	}
+
+	@Test
+	void staticAtomics() {
+		MyStaticClassMimic.setInstances(0);
+		assertEquals(0, MyStaticClassMimic.getAndAddInstances(2));
+		assertTrue(MyStaticClassMimic.compareAndSetInstances(2, 5));
+		assertEquals(5, MyStaticClassMimic.getInstancesVolatile());
+	}
+
+	@Test
+	void constants() {
+		assertEquals("prefix", MyStaticClassMimic.getPREFIX());
+	}
+
+	@Test
+	void methods() {
+		MyMethodClass orig = new MyMethodClass();
+		MyMethodClassMimic mimic = new MyMethodClassMimic(orig);
+		assertEquals(3, mimic.invokeAdd(1, 2));
+		assertEquals(0.75, mimic.invokeAdd(0.5, 0.25));
+		assertEquals(2, orig.getCalls());
+		mimic.invokeReset();
+		assertEquals(0, orig.getCalls());
+		assertEquals("test greets you", mimic.invokeGreet("you"));
+		assertEquals("described 1", MyMethodClassMimic.invokeDescribe(1));
+		RuntimeException e = assertThrows(RuntimeException.class, mimic::invokeFail);
+		assertEquals("checked", e.getCause().getMessage());
+	}
+
+	@Test
+	void factories() {
+		assertEquals("default", MyFactoryClassMimic.newInstance().getName());
+		assertEquals(1, MyFactoryClassMimic.newInstance("package").getSize());
+		MyFactoryClass orig = MyFactoryClassMimic.newInstance("public", 2);
+		assertEquals("public", orig.getName());
+		assertEquals(2, orig.getSize());
+		MyFactoryClass[] instances = MyFactoryClassMimic.newInstances(3);
+		assertEquals(3, instances.length);
+		for (MyFactoryClass instance : instances) {
+			assertEquals("default", instance.getName());
+		}
+	}
+
+	@Test
+	void metrics() throws Exception {
+		MyMetricsClassMimic.getMetrics().reset();
+		MyMetricsClassMimic mimic = new MyMetricsClassMimic(new MyMetricsClass());
+		for (int i = 0; i < 3; i++) {
+			mimic.setHits(mimic.getHits() + 1);
+		}
+		mimic.getLabel();
+		assertEquals(Map.of("hits", 3L, "label", 1L), MyMetricsClassMimic.getMetrics().getGets());
+		assertEquals(Map.of("hits", 3L, "label", 0L), MyMetricsClassMimic.getMetrics().getSets());
+
+		ObjectName name = new ObjectName("dev.bodewig.mimic:type=Mimic,name=" + MyMetricsClassMimic.class.getName());
+		TabularData gets = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Gets");
+		CompositeData hits = gets.get(new Object[] { "hits" });
+		assertEquals(3L, hits.get("value"));
+
+		assertThrows(NoSuchMethodException.class, () -> MyTestClassMimic.class.getMethod("getMetrics"));
+	}
+
+	@Test
+	void metricsOfSeveralClassLoaders() throws Exception {
+		MyMetricsClassMimic.getMetrics().reset();
+		URL classes = MyMetricsClassMimic.class.getProtectionDomain().getCodeSource().getLocation();
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { classes },
+				ClassLoader.getPlatformClassLoader())) {
+			Class<?> copy = Class.forName(MyMetricsClassMimic.class.getName(), true, loader);
+			assertNotEquals(MyMetricsClassMimic.class, copy);
+			ObjectName pattern = new ObjectName(
+					"dev.bodewig.mimic:type=Mimic,name=" + MyMetricsClassMimic.class.getName() + ",*");
+			assertEquals(2, ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).size());
+		}
+	}
+
+	@Test
+	void dirtyTracking() {
+		MyDirtyClass orig = new MyDirtyClass();
+		MyDirtyClassMimic mimic = new MyDirtyClassMimic(orig);
+		assertTrue(mimic.dirtyFields().isEmpty());
+		mimic.setVersion(2);
+		mimic.setName("dirty");
+		assertEquals(EnumSet.of(MyDirtyClassMimic.Fields.NAME, MyDirtyClassMimic.Fields.VERSION),
+				mimic.dirtyFields());
+		assertTrue(mimic.isDirty(MyDirtyClassMimic.Fields.VERSION));
+		assertFalse(mimic.isDirty(MyDirtyClassMimic.Fields.ACTIVE));
+
+		Map<MyDirtyClassMimic.Fields, Object> visited = new LinkedHashMap<>();
+		mimic.visitDirty(visited::put);
+		assertEquals(Map.of(MyDirtyClassMimic.Fields.NAME, "dirty", MyDirtyClassMimic.Fields.VERSION, 2L), visited);
+
+		mimic.clearDirty();
+		assertTrue(mimic.dirtyFields().isEmpty());
+		mimic.setActive(false);
+		mimic.bind(new MyDirtyClass());
+		assertFalse(mimic.isDirty(MyDirtyClassMimic.Fields.ACTIVE));
+	}
+
+	@Test
+	void dirtyTrackingAllWrites() {
+		MyDirtyAtomicClassMimic mimic = new MyDirtyAtomicClassMimic(new MyDirtyAtomicClass());
+		MyDirtyAtomicClassMimic.Snapshot initial = mimic.snapshot();
+
+		mimic.setVersionRelease(1);
+		assertEquals(EnumSet.of(MyDirtyAtomicClassMimic.Fields.VERSION), mimic.dirtyFields());
+		mimic.clearDirty();
+		assertFalse(mimic.compareAndSetCount(5, 6));
+		assertTrue(mimic.dirtyFields().isEmpty());
+		assertTrue(mimic.compareAndSetCount(0, 6));
+		assertEquals(EnumSet.of(MyDirtyAtomicClassMimic.Fields.COUNT), mimic.dirtyFields());
+		mimic.clearDirty();
+		assertEquals(6, mimic.getAndAddCount(1));
+		assertEquals("initial", mimic.getAndSetLabel("atomic"));
+		assertEquals(EnumSet.of(MyDirtyAtomicClassMimic.Fields.COUNT, MyDirtyAtomicClassMimic.Fields.LABEL),
+				mimic.dirtyFields());
+
+		mimic.clearDirty();
+		mimic.restore(initial);
+		assertEquals(EnumSet.allOf(MyDirtyAtomicClassMimic.Fields.class), mimic.dirtyFields());
+
+		mimic.clearDirty();
+		mimic.copyFrom(new MyDirtyAtomicClass(), EnumSet.of(MyDirtyAtomicClassMimic.Fields.LABEL));
+		assertEquals(EnumSet.of(MyDirtyAtomicClassMimic.Fields.LABEL), mimic.dirtyFields());
+		mimic.clearDirty();
+		mimic.copyTo(new MyDirtyAtomicClass());
+		assertTrue(mimic.dirtyFields().isEmpty());
+	}
+
+	@Test
+	void deepClone() {
+		MyNode root = new MyNode();
+		MyNode child = new MyNode();
+		MyNodeMimic rootMimic = new MyNodeMimic(root);
+		rootMimic.setLabel("root");
+		rootMimic.setWeights(new int[] { 1, 2 });
+		rootMimic.setNext(child);
+		rootMimic.setChildren(new MyNode[] { child, null });
+		new MyNodeMimic(child).setNext(root);
+		MyLeaf leaf = new MyLeaf(7);
+		new MyLeafMimic(leaf).setOwner(root);
+		rootMimic.setLeaf(leaf);
+
+		MyNode rootClone = MyNodeMimic.deepClone(root);
+		MyNodeMimic clone = new MyNodeMimic(rootClone);
+		assertNotSame(root, rootClone);
+		assertEquals("root", clone.getLabel());
+		assertArrayEquals(new int[] { 1, 2 }, clone.getWeights());
+		assertNotSame(rootMimic.getWeights(), clone.getWeights());
+		assertNotSame(child, clone.getNext());
+		assertSame(clone.getNext(), clone.getChildren()[0]);
+		assertSame(rootClone, new MyNodeMimic(clone.getNext()).getNext());
+
+		MyLeafMimic leafClone = new MyLeafMimic(clone.getLeaf());
+		assertNotSame(leaf, clone.getLeaf());
+		assertEquals(7, leafClone.getValue());
+		assertSame(rootClone, leafClone.getOwner());
+		assertThrows(IllegalArgumentException.class, () -> MyNodeMimic.deepClone(new MyNode() {
+		}));
+	}
+
+	@Test
+	void binaryCodec() {
+		MyPacket packet = new MyPacket();
+		MyPacketMimic mimic = new MyPacketMimic(packet);
+		mimic.setId(42);
+		mimic.setTimestamp(Long.MIN_VALUE);
+		mimic.setUrgent(true);
+		mimic.setCode('\u00e9');
+		mimic.setWeight(0.5);
+		mimic.setPayload("p\u00e4yload");
+		mimic.setValues(new int[] { 1, -1, Integer.MAX_VALUE });
+		mimic.setRaw(new byte[] { 3, 4 });
+		mimic.setFlags(new boolean[] { false, true });
+		mimic.setPriority(-7);
+		mimic.setTags(List.of("skipped"));
+		MyPacket next = new MyPacket();
+		new MyPacketMimic(next).setId(43);
+		mimic.setNext(next);
+
+		for (ByteBuffer buffer : List.of(ByteBuffer.allocate(256),
+				ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN))) {
+			buffer.position(3);
+			mimic.writeTo(buffer);
+			int end = buffer.position();
+			buffer.position(3);
+			MyPacketMimic copy = new MyPacketMimic(MyPacketMimic.decode(buffer));
+			assertEquals(end, buffer.position());
+			assertEquals(42, copy.getId());
+			assertEquals(Long.MIN_VALUE, copy.getTimestamp());
+			assertTrue(copy.getUrgent());
+			assertEquals('\u00e9', copy.getCode());
+			assertEquals(0.5, copy.getWeight());
+			assertEquals("p\u00e4yload", copy.getPayload());
+			assertArrayEquals(new int[] { 1, -1, Integer.MAX_VALUE }, copy.getValues());
+			assertArrayEquals(new byte[] { 3, 4 }, copy.getRaw());
+			assertArrayEquals(new boolean[] { false, true }, copy.getFlags());
+			assertEquals(-7, copy.getPriority());
+			assertEquals(null, copy.getAcked());
+			assertEquals(null, copy.getTags());
+			MyPacketMimic nextCopy = new MyPacketMimic(copy.getNext());
+			assertEquals(43, nextCopy.getId());
+			assertEquals(null, nextCopy.getPayload());
+			assertEquals(null, nextCopy.getNext());
+		}
+	}
+
+	@Test
+	void binaryCodecWithoutAllocator() {
+		MyChain chain = new MyChain(1);
+		MyChainMimic mimic = new MyChainMimic(chain);
+		mimic.setNext(chain);
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		mimic.writeTo(buffer);
+		assertEquals(Integer.BYTES, buffer.position());
+
+		MyChain copy = new MyChain(0);
+		MyChainMimic.decode(copy, buffer.flip());
+		assertEquals(1, new MyChainMimic(copy).getValue());
+		assertEquals(null, new MyChainMimic(copy).getNext());
+	}
+
+	@Test
+	void offHeapStore() {
+		MyPointMimic.Store store = new MyPointMimic.Store(2);
+		for (int i = 0; i < 5; i++) {
+			MyPoint point = new MyPoint();
+			MyPointMimic mimic = new MyPointMimic(point);
+			mimic.setX(i);
+			mimic.setY(-i);
+			mimic.setLayer((short) i);
+			mimic.setLabel(i % 2 == 0 ? "point " + i : null);
+			assertEquals(i, store.append(point));
+		}
+		assertEquals(5, store.size());
+		assertEquals(3.0, store.getX(3));
+		assertEquals(-4.0, store.getY(4));
+		assertEquals("point 2", store.getLabel(2));
+		assertEquals(null, store.getLabel(3));
+
+		store.setVisible(1, false);
+		store.setLabel(1, "\u00fcber");
+		MyPointMimic materialized = new MyPointMimic(store.materialize(1));
+		assertEquals(1.0, materialized.getX());
+		assertEquals(1, materialized.getLayer());
+		assertFalse(materialized.getVisible());
+		assertEquals("\u00fcber", materialized.getLabel());
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getX(5));
+
+		store.clear();
+		assertEquals(0, store.size());
+		assertEquals(Integer.MAX_VALUE / 8, MyPointMimic.Store.MAX_ROWS);
+		assertThrows(IllegalArgumentException.class, () -> new MyPointMimic.Store(MyPointMimic.Store.MAX_ROWS + 1));
+	}
+
+	@Test
+	void stateEquality() {
+		MyState a = new MyState();
+		MyState b = new MyState();
+		MyStateMimic mimicB = new MyStateMimic(b);
+		assertTrue(MyStateMimic.stateEquals(a, b));
+		assertEquals(MyStateMimic.stateHash(a), MyStateMimic.stateHash(b));
+		assertTrue(MyStateMimic.diff(a, b).isEmpty());
+		assertFalse(MyStateMimic.stateEquals(a, null));
+
+		mimicB.setName("other");
+		mimicB.setValues(new int[] { 1, 3 });
+		assertFalse(MyStateMimic.stateEquals(a, b));
+		assertNotEquals(MyStateMimic.stateHash(a), MyStateMimic.stateHash(b));
+		assertEquals(EnumSet.of(MyStateMimic.Fields.NAME, MyStateMimic.Fields.VALUES), MyStateMimic.diff(a, b));
+		List<MyStateMimic.Fields> changed = new ArrayList<>();
+		MyStateMimic.visitDiff(a, b, changed::add);
+		assertEquals(List.of(MyStateMimic.Fields.NAME, MyStateMimic.Fields.VALUES), changed);
+
+		mimicB.setName("test");
+		mimicB.setValues(new int[] { 1, 2 });
+		mimicB.setRatio(-Double.NaN);
+		assertTrue(MyStateMimic.stateEquals(a, b));
+	}
+
+	@Test
+	void dynamicAccess() {
+		MyDynamicClassMimic mimic = new MyDynamicClassMimic(new MyDynamicClass());
+		List<String> names = new ArrayList<>();
+		for (MyDynamicClassMimic.FieldDescriptor descriptor : MyDynamicClassMimic.FIELD_DESCRIPTORS) {
+			assertEquals(descriptor.index(), MyDynamicClassMimic.indexOf(descriptor.name()));
+			names.add(descriptor.name());
+		}
+		assertEquals(List.of("count", "name", "created", "weight", "tags"), names);
+		assertEquals(double.class, MyDynamicClassMimic.FIELD_DESCRIPTORS.get(3).type());
+		assertTrue(MyDynamicClassMimic.FIELD_DESCRIPTORS.get(2).isStatic());
+		assertEquals(-1, MyDynamicClassMimic.indexOf("missing"));
+
+		assertEquals("test", mimic.get("name"));
+		assertEquals(1.5, mimic.getDouble("weight"));
+		mimic.set("tags", List.of("a"));
+		mimic.set(0, 5);
+		mimic.setDouble(3, 2.5);
+		mimic.setInt("created", 3);
+		assertEquals(List.of("a"), mimic.getTags());
+		assertEquals(5, mimic.getInt("count"));
+		assertEquals(2.5, mimic.get(3));
+		assertEquals(3, MyDynamicClassMimic.getCreated());
+		assertThrows(IllegalArgumentException.class, () -> mimic.get("missing"));
+		assertThrows(IllegalArgumentException.class, () -> mimic.getInt(1));
+		assertThrows(IllegalArgumentException.class, () -> mimic.get(5));
+		assertThrows(ClassCastException.class, () -> mimic.set("name", 1));
+	}
+
+	private static void increment(MyHandleClassMimic mimic, int times) {
+		for (int i = 0; i < times; i++) {
+			mimic.setTotal(mimic.getTotal() + 1);
+		}
+	}
+
+	private static void increment(MyCounterMimic mimic, int times) {
+		for (int i = 0; i < times; i++) {
+			mimic.setTotal(mimic.getTotal() + 1);
+		}
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getCurrentThreadAllocatedBytes();
+	}
 }
@@ -7,8 +7,11 @@ import java.lang.annotation.Target;
 
 /**
  * Annotation to create Mimics with the Mimic Annotation Processor
+ * <p>
+ * The annotation is kept in class files, so incremental compilers and the
+ * Mimics of other classes can read it from compiled classes.
  */
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 @Target(ElementType.TYPE)
 public @interface Mimic {
 
@@ -25,4 +28,128 @@ public @interface Mimic {
 	 * @return The packageName
 	 */
 	String packageName() default PACKAGE_FROM_COMPILER_ARG;
+
+	/**
+	 * Define the accessor used for non-public fields of the generated Mimic,
+	 * overrides the value passed as {@code compilerArg}
+	 *
+	 * @return The accessor
+	 */
+	Accessor accessor() default Accessor.FROM_COMPILER_ARG;
+
+	/**
+	 * Define optional features for the generated Mimic, in addition to the
+	 * features passed as {@code compilerArg}
+	 *
+	 * @return The features
+	 */
+	Feature[] features() default {};
+
+	/**
+	 * The strategies to access non-public fields
+	 */
+	enum Accessor {
+
+		/**
+		 * The default {@code accessor}. Uses the value passed as {@code compilerArg} or
+		 * {@link #REFLECTION} if none is passed.
+		 */
+		FROM_COMPILER_ARG,
+
+		/**
+		 * Resolves the field once and accesses it via Java reflection
+		 */
+		REFLECTION,
+
+		/**
+		 * Resolves each field once into a {@code static final VarHandle}
+		 */
+		VAR_HANDLE
+	}
+
+	/**
+	 * Optional features of a Mimic in addition to the getters and setters
+	 */
+	enum Feature {
+
+		/**
+		 * Atomic and memory-ordered accessors for each field
+		 */
+		ATOMICS,
+
+		/**
+		 * Snapshot and restore of all instance fields
+		 */
+		SNAPSHOT,
+
+		/**
+		 * Copy of all or a subset of the non-final instance fields between instances
+		 */
+		COPY,
+
+		/**
+		 * Static getters and setters taking the instance as first parameter
+		 */
+		STATIC_ACCESSORS,
+
+		/**
+		 * A reusable Mimic with a {@code bind} method
+		 */
+		FLYWEIGHT,
+
+		/**
+		 * Gather and scatter of a field across a {@code List} or array
+		 */
+		BULK,
+
+		/**
+		 * Static read-only getters for {@code static final} constants
+		 */
+		CONSTANTS,
+
+		/**
+		 * Typed invokers for the non-public methods
+		 */
+		METHODS,
+
+		/**
+		 * Static factories mirroring the constructors
+		 */
+		FACTORIES,
+
+		/**
+		 * Per-field access counters published through JMX
+		 */
+		METRICS,
+
+		/**
+		 * Tracking of the fields changed through the Mimic
+		 */
+		DIRTY_TRACKING,
+
+		/**
+		 * Deep clones recursing into other Mimics
+		 */
+		DEEP_CLONE,
+
+		/**
+		 * A binary codec for {@code ByteBuffer}s
+		 */
+		BINARY_CODEC,
+
+		/**
+		 * An off-heap columnar store for many instances
+		 */
+		OFF_HEAP_STORE,
+
+		/**
+		 * Structural equality, hash codes and diffs over all instance fields
+		 */
+		STATE_EQUALITY,
+
+		/**
+		 * Field access by index or name without reflection
+		 */
+		DYNAMIC_ACCESS
+	}
 }
@@ -0,0 +1,48 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The main class of the benchmarks jar. It runs JMH with the given command line
+ * options and always adds the {@link GCProfiler}, so the allocation rate of each
+ * benchmark is reported next to its time.
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * Default constructor
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Runs the benchmarks
+	 *
+	 * @param args The JMH command line options
+	 * @throws CommandLineOptionException If the options cannot be parsed
+	 * @throws RunnerException            If a benchmark fails
+	 * @throws IOException                If JMH cannot list its options
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+				|| commandLine.shouldListResultFormats()) {
+			Main.main(args);
+			return;
+		}
+		OptionsBuilder options = new OptionsBuilder();
+		if (commandLine.getProfilers().stream()
+				.noneMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()))) {
+			options.addProfiler(GCProfiler.class);
+		}
+		new Runner(options.parent(commandLine).build()).run();
+	}
+}
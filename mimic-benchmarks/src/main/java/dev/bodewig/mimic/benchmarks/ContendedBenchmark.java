@@ -0,0 +1,157 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.bodewig.mimic.benchmarks.generated.PrimitiveHandleShapeMimic;
+import dev.bodewig.mimic.benchmarks.generated.PrimitiveShapeMimic;
+import dev.bodewig.mimic.benchmarks.shapes.PrimitiveHandleShape;
+import dev.bodewig.mimic.benchmarks.shapes.PrimitiveShape;
+
+/**
+ * Reads and writes a single shared instance from several threads
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ContendedBenchmark {
+
+	private final PrimitiveShape shape = new PrimitiveShape();
+
+	private final PrimitiveShapeMimic reflection = new PrimitiveShapeMimic(shape);
+
+	private final PrimitiveHandleShapeMimic varHandle = new PrimitiveHandleShapeMimic(new PrimitiveHandleShape());
+
+	/**
+	 * Default constructor
+	 */
+	public ContendedBenchmark() {
+	}
+
+	/**
+	 * Baseline: plain read
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readDirect() {
+		return shape.directGetIntValue();
+	}
+
+	/**
+	 * Read through the reflection backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readReflection() {
+		return reflection.getIntValue();
+	}
+
+	/**
+	 * Read through the VarHandle backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readVarHandle() {
+		return varHandle.getIntValue();
+	}
+
+	/**
+	 * Baseline: plain write
+	 *
+	 * @param value the per-thread value to write
+	 */
+	@Benchmark
+	public void writeDirect(Value value) {
+		shape.directSetIntValue(value.next++);
+	}
+
+	/**
+	 * Write through the reflection backend
+	 *
+	 * @param value the per-thread value to write
+	 */
+	@Benchmark
+	public void writeReflection(Value value) {
+		reflection.setIntValue(value.next++);
+	}
+
+	/**
+	 * Write through the VarHandle backend
+	 *
+	 * @param value the per-thread value to write
+	 */
+	@Benchmark
+	public void writeVarHandle(Value value) {
+		varHandle.setIntValue(value.next++);
+	}
+
+	/**
+	 * Baseline: plain read-modify-write
+	 */
+	@Benchmark
+	public void incrementDirect() {
+		shape.directSetIntValue(shape.directGetIntValue() + 1);
+	}
+
+	/**
+	 * Read-modify-write through the reflection backend
+	 */
+	@Benchmark
+	public void incrementReflection() {
+		reflection.setIntValue(reflection.getIntValue() + 1);
+	}
+
+	/**
+	 * Read-modify-write through the VarHandle backend
+	 */
+	@Benchmark
+	public void incrementVarHandle() {
+		varHandle.setIntValue(varHandle.getIntValue() + 1);
+	}
+
+	/**
+	 * Atomic increment through the generated {@code getAndAdd} accessor
+	 *
+	 * @return the previous value
+	 */
+	@Benchmark
+	public int incrementAtomic() {
+		return varHandle.getAndAddIntValue(1);
+	}
+
+	/**
+	 * The value written by a thread, changed on every write so the writes are not
+	 * redundant
+	 */
+	@State(Scope.Thread)
+	public static class Value {
+
+		/**
+		 * The next value to write
+		 */
+		int next;
+
+		/**
+		 * Default constructor
+		 */
+		public Value() {
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.bodewig.mimic.benchmarks.generated.DeepHandleShapeMimic;
+import dev.bodewig.mimic.benchmarks.generated.DeepShapeMimic;
+import dev.bodewig.mimic.benchmarks.shapes.DeepHandleShape;
+import dev.bodewig.mimic.benchmarks.shapes.DeepShape;
+import dev.bodewig.mimic.runtime.MimicField;
+import dev.bodewig.mimic.runtime.Mimics;
+
+/**
+ * Reads and writes a field declared five levels up the inheritance chain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeepBenchmark {
+
+	private static final MimicField<DeepHandleShape> RUNTIME_BASE = Mimics.of(DeepHandleShape.class).field("base");
+
+	private final DeepShape shape = new DeepShape();
+
+	private final DeepShapeMimic reflection = new DeepShapeMimic(shape);
+
+	private final DeepHandleShape handleShape = new DeepHandleShape();
+
+	private final DeepHandleShapeMimic varHandle = new DeepHandleShapeMimic(handleShape);
+
+	private int next;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepBenchmark() {
+	}
+
+	/**
+	 * Baseline: plain field read
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readDirect() {
+		return shape.directGetBase();
+	}
+
+	/**
+	 * Field read through the reflection backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readReflection() {
+		return reflection.getBase();
+	}
+
+	/**
+	 * Field read through the VarHandle backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readVarHandle() {
+		return varHandle.getBase();
+	}
+
+	/**
+	 * Field read through the runtime Mimic
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readRuntime() {
+		return RUNTIME_BASE.getInt(handleShape);
+	}
+
+	/**
+	 * Baseline: plain field write
+	 */
+	@Benchmark
+	public void writeDirect() {
+		shape.directSetBase(next++);
+	}
+
+	/**
+	 * Field write through the reflection backend
+	 */
+	@Benchmark
+	public void writeReflection() {
+		reflection.setBase(next++);
+	}
+
+	/**
+	 * Field write through the VarHandle backend
+	 */
+	@Benchmark
+	public void writeVarHandle() {
+		varHandle.setBase(next++);
+	}
+
+	/**
+	 * Field write through the runtime Mimic
+	 */
+	@Benchmark
+	public void writeRuntime() {
+		RUNTIME_BASE.setInt(handleShape, next++);
+	}
+}
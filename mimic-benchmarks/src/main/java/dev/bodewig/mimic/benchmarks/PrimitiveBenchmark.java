@@ -0,0 +1,166 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.bodewig.mimic.benchmarks.generated.PrimitiveHandleShapeMimic;
+import dev.bodewig.mimic.benchmarks.generated.PrimitiveShapeMimic;
+import dev.bodewig.mimic.benchmarks.shapes.PrimitiveHandleShape;
+import dev.bodewig.mimic.benchmarks.shapes.PrimitiveShape;
+import dev.bodewig.mimic.runtime.MimicField;
+import dev.bodewig.mimic.runtime.Mimics;
+
+/**
+ * Reads and writes primitive fields through every accessor strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveBenchmark {
+
+	private static final MimicField<PrimitiveHandleShape> RUNTIME_INT = Mimics.of(PrimitiveHandleShape.class)
+			.field("intValue");
+
+	private static final MimicField<PrimitiveHandleShape> RUNTIME_LONG = Mimics.of(PrimitiveHandleShape.class)
+			.field("longValue");
+
+	private final PrimitiveShape shape = new PrimitiveShape();
+
+	private final PrimitiveShapeMimic reflection = new PrimitiveShapeMimic(shape);
+
+	private final PrimitiveHandleShape handleShape = new PrimitiveHandleShape();
+
+	private final PrimitiveHandleShapeMimic varHandle = new PrimitiveHandleShapeMimic(handleShape);
+
+	private int next;
+
+	/**
+	 * Default constructor
+	 */
+	public PrimitiveBenchmark() {
+	}
+
+	/**
+	 * Baseline: plain field read
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readIntDirect() {
+		return shape.directGetIntValue();
+	}
+
+	/**
+	 * Field read through the reflection backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readIntReflection() {
+		return reflection.getIntValue();
+	}
+
+	/**
+	 * Field read through the VarHandle backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readIntVarHandle() {
+		return varHandle.getIntValue();
+	}
+
+	/**
+	 * Field read through the runtime Mimic
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public int readIntRuntime() {
+		return RUNTIME_INT.getInt(handleShape);
+	}
+
+	/**
+	 * Baseline: plain field write
+	 */
+	@Benchmark
+	public void writeIntDirect() {
+		shape.directSetIntValue(next++);
+	}
+
+	/**
+	 * Field write through the reflection backend
+	 */
+	@Benchmark
+	public void writeIntReflection() {
+		reflection.setIntValue(next++);
+	}
+
+	/**
+	 * Field write through the VarHandle backend
+	 */
+	@Benchmark
+	public void writeIntVarHandle() {
+		varHandle.setIntValue(next++);
+	}
+
+	/**
+	 * Field write through the runtime Mimic
+	 */
+	@Benchmark
+	public void writeIntRuntime() {
+		RUNTIME_INT.setInt(handleShape, next++);
+	}
+
+	/**
+	 * Baseline: reads of all primitive fields
+	 *
+	 * @return the combined values
+	 */
+	@Benchmark
+	public double readAllDirect() {
+		return shape.directGetIntValue() + shape.directGetLongValue() + shape.directGetDoubleValue();
+	}
+
+	/**
+	 * Reads of all primitive fields through the reflection backend
+	 *
+	 * @return the combined values
+	 */
+	@Benchmark
+	public double readAllReflection() {
+		return reflection.getIntValue() + reflection.getLongValue() + reflection.getDoubleValue();
+	}
+
+	/**
+	 * Reads of all primitive fields through the VarHandle backend
+	 *
+	 * @return the combined values
+	 */
+	@Benchmark
+	public double readAllVarHandle() {
+		return varHandle.getIntValue() + varHandle.getLongValue() + varHandle.getDoubleValue();
+	}
+
+	/**
+	 * Reads of the integral fields through the runtime Mimic
+	 *
+	 * @return the combined values
+	 */
+	@Benchmark
+	public long readIntegralRuntime() {
+		return RUNTIME_INT.getInt(handleShape) + RUNTIME_LONG.getLong(handleShape);
+	}
+}
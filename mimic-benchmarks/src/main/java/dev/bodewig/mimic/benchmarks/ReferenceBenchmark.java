@@ -0,0 +1,123 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.bodewig.mimic.benchmarks.generated.ReferenceHandleShapeMimic;
+import dev.bodewig.mimic.benchmarks.generated.ReferenceShapeMimic;
+import dev.bodewig.mimic.benchmarks.shapes.ReferenceHandleShape;
+import dev.bodewig.mimic.benchmarks.shapes.ReferenceShape;
+import dev.bodewig.mimic.runtime.MimicField;
+import dev.bodewig.mimic.runtime.Mimics;
+
+/**
+ * Reads and writes reference fields through every accessor strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReferenceBenchmark {
+
+	private static final MimicField<ReferenceHandleShape> RUNTIME_TEXT = Mimics.of(ReferenceHandleShape.class)
+			.field("text");
+
+	private final ReferenceShape shape = new ReferenceShape();
+
+	private final ReferenceShapeMimic reflection = new ReferenceShapeMimic(shape);
+
+	private final ReferenceHandleShape handleShape = new ReferenceHandleShape();
+
+	private final ReferenceHandleShapeMimic varHandle = new ReferenceHandleShapeMimic(handleShape);
+
+	private final String value = "value";
+
+	/**
+	 * Default constructor
+	 */
+	public ReferenceBenchmark() {
+	}
+
+	/**
+	 * Baseline: plain field read
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public String readDirect() {
+		return shape.directGetText();
+	}
+
+	/**
+	 * Field read through the reflection backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public String readReflection() {
+		return reflection.getText();
+	}
+
+	/**
+	 * Field read through the VarHandle backend
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public String readVarHandle() {
+		return varHandle.getText();
+	}
+
+	/**
+	 * Field read through the runtime Mimic
+	 *
+	 * @return the field value
+	 */
+	@Benchmark
+	public Object readRuntime() {
+		return RUNTIME_TEXT.get(handleShape);
+	}
+
+	/**
+	 * Baseline: plain field write
+	 */
+	@Benchmark
+	public void writeDirect() {
+		shape.directSetText(value);
+	}
+
+	/**
+	 * Field write through the reflection backend
+	 */
+	@Benchmark
+	public void writeReflection() {
+		reflection.setText(value);
+	}
+
+	/**
+	 * Field write through the VarHandle backend
+	 */
+	@Benchmark
+	public void writeVarHandle() {
+		varHandle.setText(value);
+	}
+
+	/**
+	 * Field write through the runtime Mimic
+	 */
+	@Benchmark
+	public void writeRuntime() {
+		RUNTIME_TEXT.set(handleShape, value);
+	}
+}
@@ -0,0 +1,124 @@
+package dev.bodewig.mimic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.bodewig.mimic.benchmarks.generated.WideHandleShapeMimic;
+import dev.bodewig.mimic.benchmarks.generated.WideShapeMimic;
+import dev.bodewig.mimic.benchmarks.shapes.WideHandleShape;
+import dev.bodewig.mimic.benchmarks.shapes.WideShape;
+import dev.bodewig.mimic.runtime.MimicField;
+import dev.bodewig.mimic.runtime.Mimics;
+
+/**
+ * Sums all 32 fields of a wide object through every accessor strategy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WideBenchmark {
+
+	@SuppressWarnings("unchecked")
+	private static final MimicField<WideHandleShape>[] RUNTIME = new MimicField[32];
+
+	static {
+		for (int i = 0; i < RUNTIME.length; i++) {
+			RUNTIME[i] = Mimics.of(WideHandleShape.class).field("field" + i);
+		}
+	}
+
+	private final WideShape shape = new WideShape();
+
+	private final WideShapeMimic reflection = new WideShapeMimic(shape);
+
+	private final WideHandleShape handleShape = new WideHandleShape();
+
+	private final WideHandleShapeMimic varHandle = new WideHandleShapeMimic(handleShape);
+
+	/**
+	 * Default constructor
+	 */
+	public WideBenchmark() {
+	}
+
+	/**
+	 * Baseline: plain field reads
+	 *
+	 * @return the sum of all fields
+	 */
+	@Benchmark
+	public int sumDirect() {
+		return shape.directSum();
+	}
+
+	/**
+	 * Field reads through the reflection backend
+	 *
+	 * @return the sum of all fields
+	 */
+	@Benchmark
+	public int sumReflection() {
+		return reflection.getField0() + reflection.getField1() + reflection.getField2() + reflection.getField3()
+				+ reflection.getField4() + reflection.getField5() + reflection.getField6() + reflection.getField7()
+				+ reflection.getField8() + reflection.getField9() + reflection.getField10() + reflection.getField11()
+				+ reflection.getField12() + reflection.getField13() + reflection.getField14() + reflection.getField15()
+				+ reflection.getField16() + reflection.getField17() + reflection.getField18() + reflection.getField19()
+				+ reflection.getField20() + reflection.getField21() + reflection.getField22() + reflection.getField23()
+				+ reflection.getField24() + reflection.getField25() + reflection.getField26() + reflection.getField27()
+				+ reflection.getField28() + reflection.getField29() + reflection.getField30() + reflection.getField31();
+	}
+
+	/**
+	 * Field reads through the VarHandle backend
+	 *
+	 * @return the sum of all fields
+	 */
+	@Benchmark
+	public int sumVarHandle() {
+		return varHandle.getField0() + varHandle.getField1() + varHandle.getField2() + varHandle.getField3()
+				+ varHandle.getField4() + varHandle.getField5() + varHandle.getField6() + varHandle.getField7()
+				+ varHandle.getField8() + varHandle.getField9() + varHandle.getField10() + varHandle.getField11()
+				+ varHandle.getField12() + varHandle.getField13() + varHandle.getField14() + varHandle.getField15()
+				+ varHandle.getField16() + varHandle.getField17() + varHandle.getField18() + varHandle.getField19()
+				+ varHandle.getField20() + varHandle.getField21() + varHandle.getField22() + varHandle.getField23()
+				+ varHandle.getField24() + varHandle.getField25() + varHandle.getField26() + varHandle.getField27()
+				+ varHandle.getField28() + varHandle.getField29() + varHandle.getField30() + varHandle.getField31();
+	}
+
+	/**
+	 * Field reads through the runtime Mimic, with the field array held in a static final
+	 *
+	 * @return the sum of all fields
+	 */
+	@Benchmark
+	public int sumRuntime() {
+		return RUNTIME[0].getInt(handleShape) + RUNTIME[1].getInt(handleShape)
+				+ RUNTIME[2].getInt(handleShape) + RUNTIME[3].getInt(handleShape)
+				+ RUNTIME[4].getInt(handleShape) + RUNTIME[5].getInt(handleShape)
+				+ RUNTIME[6].getInt(handleShape) + RUNTIME[7].getInt(handleShape)
+				+ RUNTIME[8].getInt(handleShape) + RUNTIME[9].getInt(handleShape)
+				+ RUNTIME[10].getInt(handleShape) + RUNTIME[11].getInt(handleShape)
+				+ RUNTIME[12].getInt(handleShape) + RUNTIME[13].getInt(handleShape)
+				+ RUNTIME[14].getInt(handleShape) + RUNTIME[15].getInt(handleShape)
+				+ RUNTIME[16].getInt(handleShape) + RUNTIME[17].getInt(handleShape)
+				+ RUNTIME[18].getInt(handleShape) + RUNTIME[19].getInt(handleShape)
+				+ RUNTIME[20].getInt(handleShape) + RUNTIME[21].getInt(handleShape)
+				+ RUNTIME[22].getInt(handleShape) + RUNTIME[23].getInt(handleShape)
+				+ RUNTIME[24].getInt(handleShape) + RUNTIME[25].getInt(handleShape)
+				+ RUNTIME[26].getInt(handleShape) + RUNTIME[27].getInt(handleShape)
+				+ RUNTIME[28].getInt(handleShape) + RUNTIME[29].getInt(handleShape)
+				+ RUNTIME[30].getInt(handleShape) + RUNTIME[31].getInt(handleShape);
+	}
+}
@@ -0,0 +1,33 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+/**
+ * The root of the deep inheritance chain, declaring the benchmarked field
+ */
+public class DeepBase {
+
+	private int base = 1;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepBase() {
+	}
+
+	/**
+	 * Reads the field directly
+	 *
+	 * @return the field value
+	 */
+	public int directGetBase() {
+		return base;
+	}
+
+	/**
+	 * Writes the field directly
+	 *
+	 * @param value the new value
+	 */
+	public void directSetBase(int value) {
+		base = value;
+	}
+}
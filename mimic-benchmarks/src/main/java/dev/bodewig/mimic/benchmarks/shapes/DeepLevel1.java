@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+/**
+ * The first level of the deep inheritance chain
+ */
+@SuppressWarnings("unused")
+public class DeepLevel1 extends DeepBase {
+
+	private int level1 = 1;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepLevel1() {
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+/**
+ * The second level of the deep inheritance chain
+ */
+@SuppressWarnings("unused")
+public class DeepLevel2 extends DeepLevel1 {
+
+	private int level2 = 2;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepLevel2() {
+	}
+}
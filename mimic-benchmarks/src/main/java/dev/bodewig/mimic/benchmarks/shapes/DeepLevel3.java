@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+/**
+ * The third level of the deep inheritance chain
+ */
+@SuppressWarnings("unused")
+public class DeepLevel3 extends DeepLevel2 {
+
+	private int level3 = 3;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepLevel3() {
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+/**
+ * The fourth level of the deep inheritance chain
+ */
+@SuppressWarnings("unused")
+public class DeepLevel4 extends DeepLevel3 {
+
+	private int level4 = 4;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepLevel4() {
+	}
+}
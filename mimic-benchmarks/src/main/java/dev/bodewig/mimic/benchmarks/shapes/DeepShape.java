@@ -0,0 +1,20 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * A class with a field declared five levels up the inheritance chain, mimicked with the
+ * {@code REFLECTION} accessor
+ */
+@SuppressWarnings("unused")
+@Mimic
+public class DeepShape extends DeepLevel4 {
+
+	private int leaf = 5;
+
+	/**
+	 * Default constructor
+	 */
+	public DeepShape() {
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * {@link PrimitiveShape} mimicked with the {@code VAR_HANDLE} accessor and atomic accessors
+ */
+@Mimic(accessor = Mimic.Accessor.VAR_HANDLE, features = Mimic.Feature.ATOMICS)
+public class PrimitiveHandleShape extends PrimitiveShape {
+
+	/**
+	 * Default constructor
+	 */
+	public PrimitiveHandleShape() {
+	}
+}
@@ -0,0 +1,58 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * A class with primitive fields, mimicked with the {@code REFLECTION} accessor
+ */
+@Mimic
+public class PrimitiveShape {
+
+	private int intValue = 1;
+
+	private long longValue = 1_000_000L;
+
+	private double doubleValue = 0.5;
+
+	/**
+	 * Default constructor
+	 */
+	public PrimitiveShape() {
+	}
+
+	/**
+	 * Reads the {@code int} field directly
+	 *
+	 * @return the field value
+	 */
+	public int directGetIntValue() {
+		return intValue;
+	}
+
+	/**
+	 * Writes the {@code int} field directly
+	 *
+	 * @param value the new value
+	 */
+	public void directSetIntValue(int value) {
+		intValue = value;
+	}
+
+	/**
+	 * Reads the {@code long} field directly
+	 *
+	 * @return the field value
+	 */
+	public long directGetLongValue() {
+		return longValue;
+	}
+
+	/**
+	 * Reads the {@code double} field directly
+	 *
+	 * @return the field value
+	 */
+	public double directGetDoubleValue() {
+		return doubleValue;
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * {@link ReferenceShape} mimicked with the {@code VAR_HANDLE} accessor
+ */
+@Mimic(accessor = Mimic.Accessor.VAR_HANDLE)
+public class ReferenceHandleShape extends ReferenceShape {
+
+	/**
+	 * Default constructor
+	 */
+	public ReferenceHandleShape() {
+	}
+}
@@ -0,0 +1,47 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * A class with reference fields, mimicked with the {@code REFLECTION} accessor
+ */
+@Mimic
+public class ReferenceShape {
+
+	private String text = "text";
+
+	private Object payload = new Object();
+
+	/**
+	 * Default constructor
+	 */
+	public ReferenceShape() {
+	}
+
+	/**
+	 * Reads the {@code String} field directly
+	 *
+	 * @return the field value
+	 */
+	public String directGetText() {
+		return text;
+	}
+
+	/**
+	 * Writes the {@code String} field directly
+	 *
+	 * @param value the new value
+	 */
+	public void directSetText(String value) {
+		text = value;
+	}
+
+	/**
+	 * Reads the {@code Object} field directly
+	 *
+	 * @return the field value
+	 */
+	public Object directGetPayload() {
+		return payload;
+	}
+}
@@ -0,0 +1,16 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * {@link WideShape} mimicked with the {@code VAR_HANDLE} accessor
+ */
+@Mimic(accessor = Mimic.Accessor.VAR_HANDLE)
+public class WideHandleShape extends WideShape {
+
+	/**
+	 * Default constructor
+	 */
+	public WideHandleShape() {
+	}
+}
@@ -0,0 +1,92 @@
+package dev.bodewig.mimic.benchmarks.shapes;
+
+import dev.bodewig.mimic.annotation.Mimic;
+
+/**
+ * A class with 32 fields, mimicked with the {@code REFLECTION} accessor
+ */
+@Mimic
+public class WideShape {
+
+	private int field0 = 0;
+
+	private int field1 = 1;
+
+	private int field2 = 2;
+
+	private int field3 = 3;
+
+	private int field4 = 4;
+
+	private int field5 = 5;
+
+	private int field6 = 6;
+
+	private int field7 = 7;
+
+	private int field8 = 8;
+
+	private int field9 = 9;
+
+	private int field10 = 10;
+
+	private int field11 = 11;
+
+	private int field12 = 12;
+
+	private int field13 = 13;
+
+	private int field14 = 14;
+
+	private int field15 = 15;
+
+	private int field16 = 16;
+
+	private int field17 = 17;
+
+	private int field18 = 18;
+
+	private int field19 = 19;
+
+	private int field20 = 20;
+
+	private int field21 = 21;
+
+	private int field22 = 22;
+
+	private int field23 = 23;
+
+	private int field24 = 24;
+
+	private int field25 = 25;
+
+	private int field26 = 26;
+
+	private int field27 = 27;
+
+	private int field28 = 28;
+
+	private int field29 = 29;
+
+	private int field30 = 30;
+
+	private int field31 = 31;
+
+	/**
+	 * Default constructor
+	 */
+	public WideShape() {
+	}
+
+	/**
+	 * Sums all fields directly
+	 *
+	 * @return the sum of the fields
+	 */
+	public int directSum() {
+		return field0 + field1 + field2 + field3 + field4 + field5 + field6 + field7
+				+ field8 + field9 + field10 + field11 + field12 + field13 + field14 + field15
+				+ field16 + field17 + field18 + field19 + field20 + field21 + field22 + field23
+				+ field24 + field25 + field26 + field27 + field28 + field29 + field30 + field31;
+	}
+}
@@ -0,0 +1,19 @@
+package dev.bodewig.mimic.generator;
+
+/**
+ * The strategy a Mimic uses to access non-public fields
+ */
+public enum AccessorMode {
+
+	/**
+	 * Resolves each field once into a {@code static final}
+	 * {@link java.lang.reflect.Field} and accesses it via Java reflection
+	 */
+	REFLECTION,
+
+	/**
+	 * Resolves each field once into a {@code static final}
+	 * {@link java.lang.invoke.VarHandle} that the JIT can constant-fold
+	 */
+	VAR_HANDLE
+}
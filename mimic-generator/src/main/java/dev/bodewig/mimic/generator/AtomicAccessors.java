@@ -0,0 +1,111 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#ATOMICS}. All methods delegate to
+ * the {@link java.lang.invoke.VarHandle} of the field, regardless of the
+ * configured {@link AccessorMode}.
+ */
+class AtomicAccessors {
+
+	/**
+	 * The primitive types supporting {@code getAndAdd}
+	 */
+	private static final Set<TypeName> NUMERIC = Set.of(TypeName.BYTE, TypeName.SHORT, TypeName.INT, TypeName.LONG,
+			TypeName.FLOAT, TypeName.DOUBLE);
+
+	/**
+	 * Default constructor
+	 */
+	private AtomicAccessors() {
+	}
+
+	/**
+	 * Adds the atomic and memory-ordered accessors for the given field. Final
+	 * fields only get the memory-ordered getters, the accessors of static fields
+	 * are static like their plain getter and setter. The writers add the dirty
+	 * mark after a successful write, so it is not atomic with the write.
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param f           The field to create the accessors for
+	 * @param mark        The statement marking the field as dirty or an empty
+	 *                    block
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, FieldAdapter<?> f, CodeBlock mark, Handles handles) {
+		String handle = handles.varHandle(f);
+		String receiver = f.isStatic() ? "" : "instance";
+		String prefix = f.isStatic() ? "" : "instance, ";
+		String name = MimicGenerator.pascalCase(f.getName());
+		TypeName type = f.getType();
+
+		for (String mode : new String[] { "Volatile", "Acquire", "Opaque" }) {
+			typeBuilder.addMethod(accessor("get" + name + mode, f).returns(type)
+					.addStatement("return ($T) $L.get$L($L)", type, handle, mode, receiver).build());
+		}
+		if (f.isFinal()) {
+			return;
+		}
+		for (String mode : new String[] { "Volatile", "Release", "Opaque" }) {
+			typeBuilder.addMethod(accessor("set" + name + mode, f).addParameter(type, "value")
+					.addStatement("$L.set$L($Lvalue)", handle, mode, prefix).addCode(mark).build());
+		}
+		MethodSpec.Builder compareAndSet = accessor("compareAndSet" + name, f).returns(TypeName.BOOLEAN)
+				.addParameter(type, "expected").addParameter(type, "value");
+		if (mark.isEmpty()) {
+			compareAndSet.addStatement("return $L.compareAndSet($Lexpected, value)", handle, prefix);
+		} else {
+			compareAndSet.beginControlFlow("if ($L.compareAndSet($Lexpected, value))", handle, prefix).addCode(mark)
+					.addStatement("return true").endControlFlow().addStatement("return false");
+		}
+		typeBuilder.addMethod(compareAndSet.build());
+		typeBuilder.addMethod(getAndUpdate(accessor("getAndSet" + name, f).returns(type).addParameter(type, "value"),
+				CodeBlock.of("($T) $L.getAndSet($Lvalue)", type, handle, prefix), type, mark).build());
+		if (NUMERIC.contains(type)) {
+			typeBuilder.addMethod(
+					getAndUpdate(accessor("getAndAdd" + name, f).returns(type).addParameter(type, "delta"),
+							CodeBlock.of("($T) $L.getAndAdd($Ldelta)", type, handle, prefix), type, mark).build());
+		}
+	}
+
+	/**
+	 * Adds the body of a method returning the previous value of an atomic update
+	 *
+	 * @param method The builder of the method
+	 * @param update The expression updating the field and returning the previous
+	 *               value
+	 * @param type   The type of the field
+	 * @param mark   The statement marking the field as dirty or an empty block
+	 * @return The builder of the method
+	 */
+	private static MethodSpec.Builder getAndUpdate(MethodSpec.Builder method, CodeBlock update, TypeName type,
+			CodeBlock mark) {
+		if (mark.isEmpty()) {
+			return method.addStatement("return $L", update);
+		}
+		return method.addStatement("$T previous = $L", type, update).addCode(mark).addStatement("return previous");
+	}
+
+	/**
+	 * Creates a public method builder, static if the field is static
+	 *
+	 * @param methodName The name of the method
+	 * @param f          The field accessed by the method
+	 * @return The method builder
+	 */
+	private static MethodSpec.Builder accessor(String methodName, FieldAdapter<?> f) {
+		MethodSpec.Builder builder = MethodSpec.methodBuilder(methodName).addModifiers(Modifier.PUBLIC);
+		if (f.isStatic()) {
+			builder.addModifiers(Modifier.STATIC);
+		}
+		return builder;
+	}
+}
@@ -0,0 +1,288 @@
+package dev.bodewig.mimic.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#BINARY_CODEC}: {@code writeTo} and
+ * {@code readFrom} methods encoding the instance fields into a
+ * {@link ByteBuffer} in declaration order, using the byte order of the buffer.
+ * <p>
+ * Primitives have a fixed layout, a {@code boolean} takes one byte. Boxed
+ * primitives are prefixed with a presence byte. Strings are prefixed with their
+ * UTF-8 length and primitive arrays with their number of elements, {@code -1}
+ * encodes {@code null}. Fields whose type is the mimicked class or a class in
+ * {@link MimicOptions#getMimics()} are prefixed with a presence byte and encoded
+ * by that Mimic, if it can allocate instances to decode them, see
+ * {@link MimicGenerator#canAllocate(ModelAdapter)}. Fields of other types, e.g.
+ * enums, collections or object arrays, are skipped and listed in the javadoc of
+ * the generated methods, see {@link #skippedFields(ModelAdapter, List, MimicOptions)}.
+ * <p>
+ * Nested Mimics are encoded recursively without tracking visited instances, so
+ * the encoded object graph must be acyclic.
+ * <p>
+ * All methods only use relative {@code get} and {@code put} operations and
+ * bulk transfers, so heap and direct buffers are supported alike.
+ */
+class BinaryCodec {
+
+	/**
+	 * Default constructor
+	 */
+	private BinaryCodec() {
+	}
+
+	/**
+	 * Adds the codec methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @param options     The options to customize the Mimic
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName mimicType,
+			List<FieldAdapter<?>> fields, MimicOptions options, Handles handles) {
+		TypeName type = model.getTypeName();
+		Map<String, ClassName> mimics = MimicGenerator.mimicTypes(model, mimicType, options);
+		List<String> skipped = skippedFields(model, fields, options);
+		CodeBlock skippedDoc = skipped.isEmpty() ? CodeBlock.of("")
+				: CodeBlock.of("<p>\nSkipped fields that cannot be encoded: $L\n", String.join(", ", skipped));
+		MethodSpec.Builder encode = MethodSpec.methodBuilder("encode").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addJavadoc("Encodes the fields of an instance, nested Mimics recursively. The object graph must be\n"
+						+ "acyclic, a cycle overflows the stack.\n")
+				.addJavadoc(skippedDoc).addParameter(type, "instance").addParameter(ByteBuffer.class, "buffer");
+		MethodSpec.Builder decode = MethodSpec.methodBuilder("decode").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addJavadoc("Decodes the fields of an instance written by {@code encode}.\n").addJavadoc(skippedDoc)
+				.addParameter(type, "instance").addParameter(ByteBuffer.class, "buffer");
+		Set<TypeName> helpers = new LinkedHashSet<>();
+		for (FieldAdapter<?> f : fields) {
+			if (f.isStatic()) {
+				continue;
+			}
+			TypeName fieldType = f.getRawType();
+			CodeBlock value = FieldAccess.read(f, "instance", handles);
+			CodeBlock decoded;
+			if (fieldType.isPrimitive()) {
+				encode.addStatement(put(fieldType, value));
+				decoded = get(fieldType);
+			} else if (fieldType.isBoxedPrimitive()) {
+				String local = f.getName() + "Value";
+				encode.addStatement("$T $L = $L", fieldType, local, value)
+						.addStatement("buffer.put(($T) ($L == null ? 0 : 1))", TypeName.BYTE, local)
+						.beginControlFlow("if ($L != null)", local)
+						.addStatement(put(fieldType.unbox(), CodeBlock.of("$L", local))).endControlFlow();
+				decoded = CodeBlock.of("(buffer.get() == 0 ? null : $T.valueOf($L))", fieldType,
+						get(fieldType.unbox()));
+			} else if (isNested(fieldType, model, options)) {
+				ClassName mimic = mimics.get(fieldType.toString());
+				String local = f.getName() + "Value";
+				encode.addStatement("$T $L = $L", fieldType, local, value)
+						.addStatement("buffer.put(($T) ($L == null ? 0 : 1))", TypeName.BYTE, local)
+						.beginControlFlow("if ($L != null)", local).addStatement("$T.encode($L, buffer)", mimic, local)
+						.endControlFlow();
+				decoded = CodeBlock.of("(buffer.get() == 0 ? null : $T.decode(buffer))", mimic);
+			} else if (fieldType.equals(ClassName.get(String.class)) || isPrimitiveArray(fieldType)) {
+				helpers.add(fieldType);
+				encode.addStatement("write(buffer, $L)", value);
+				decoded = CodeBlock.of("$L(buffer)", readerName(fieldType));
+			} else {
+				continue;
+			}
+			decode.addCode(FieldAccess.write(f, "instance", decoded, handles));
+		}
+		typeBuilder.addMethod(encode.build());
+		typeBuilder.addMethod(decode.build());
+
+		if (InstanceFactories.addAllocator(typeBuilder, model, handles)) {
+			typeBuilder.addMethod(MethodSpec.methodBuilder("decode").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.returns(type).addParameter(ByteBuffer.class, "buffer")
+					.addStatement("$T instance = $L()", type, InstanceFactories.ALLOCATOR)
+					.addStatement("decode(instance, buffer)").addStatement("return instance").build());
+		}
+		typeBuilder.addMethod(MethodSpec.methodBuilder("writeTo").addModifiers(Modifier.PUBLIC)
+				.addParameter(ByteBuffer.class, "buffer").addStatement("encode(instance, buffer)").build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("readFrom").addModifiers(Modifier.PUBLIC)
+				.addParameter(ByteBuffer.class, "buffer").addStatement("decode(instance, buffer)").build());
+
+		for (TypeName helper : helpers) {
+			typeBuilder.addMethod(writer(helper));
+			typeBuilder.addMethod(reader(helper));
+		}
+	}
+
+	/**
+	 * Returns the names of the instance fields that cannot be encoded
+	 *
+	 * @param model   The model of the Mimic
+	 * @param fields  The non-constant fields of the model
+	 * @param options The options to customize the Mimic
+	 * @return The names of the skipped fields in declaration order
+	 */
+	static List<String> skippedFields(ModelAdapter<?> model, List<FieldAdapter<?>> fields, MimicOptions options) {
+		List<String> skipped = new ArrayList<>();
+		for (FieldAdapter<?> f : fields) {
+			TypeName fieldType = f.getRawType();
+			if (!f.isStatic() && !fieldType.isPrimitive() && !fieldType.isBoxedPrimitive()
+					&& !fieldType.equals(ClassName.get(String.class)) && !isPrimitiveArray(fieldType)
+					&& !isNested(fieldType, model, options)) {
+				skipped.add(f.getName());
+			}
+		}
+		return skipped;
+	}
+
+	/**
+	 * Checks if a field type is encoded by its Mimic, i.e. it is the mimicked
+	 * class or in {@link MimicOptions#getMimics()} and the Mimic can allocate
+	 * instances
+	 *
+	 * @param fieldType The raw type of the field
+	 * @param model     The model of the Mimic
+	 * @param options   The options to customize the Mimic
+	 * @return If the field is encoded by a nested Mimic
+	 */
+	private static boolean isNested(TypeName fieldType, ModelAdapter<?> model, MimicOptions options) {
+		String name = fieldType.toString();
+		if (name.equals(MimicGenerator.rawType(model.getTypeName()).toString())) {
+			return MimicGenerator.canAllocate(model);
+		}
+		return options.getMimics().containsKey(name) && options.getAllocatable().contains(name);
+	}
+
+	/**
+	 * Creates a statement putting a primitive value into the buffer
+	 *
+	 * @param type  The primitive type
+	 * @param value The expression of the value
+	 * @return The statement
+	 */
+	private static CodeBlock put(TypeName type, CodeBlock value) {
+		if (type.equals(TypeName.BOOLEAN)) {
+			return CodeBlock.of("buffer.put(($T) ($L ? 1 : 0))", TypeName.BYTE, value);
+		}
+		return CodeBlock.of("buffer.$L($L)", "put" + suffix(type), value);
+	}
+
+	/**
+	 * Creates an expression getting a primitive value from the buffer
+	 *
+	 * @param type The primitive type
+	 * @return The expression
+	 */
+	private static CodeBlock get(TypeName type) {
+		if (type.equals(TypeName.BOOLEAN)) {
+			return CodeBlock.of("(buffer.get() != 0)");
+		}
+		return CodeBlock.of("buffer.$L()", "get" + suffix(type));
+	}
+
+	/**
+	 * Returns the suffix of the {@link ByteBuffer} methods for a primitive type
+	 *
+	 * @param type The primitive type other than {@code boolean}
+	 * @return The suffix, e.g. {@code Int} or an empty string for {@code byte}
+	 */
+	private static String suffix(TypeName type) {
+		return type.equals(TypeName.BYTE) ? "" : MimicGenerator.pascalCase(type.toString());
+	}
+
+	/**
+	 * Checks if a type is an array of primitives
+	 *
+	 * @param type The type
+	 * @return If the type is a primitive array
+	 */
+	private static boolean isPrimitiveArray(TypeName type) {
+		return type instanceof ArrayTypeName array && array.componentType.isPrimitive();
+	}
+
+	/**
+	 * Returns the name of the helper reading a string or primitive array
+	 *
+	 * @param type The string or primitive array type
+	 * @return The name, e.g. {@code readString} or {@code readIntArray}
+	 */
+	private static String readerName(TypeName type) {
+		if (type instanceof ArrayTypeName array) {
+			return "read" + MimicGenerator.pascalCase(array.componentType.toString()) + "Array";
+		}
+		return "readString";
+	}
+
+	/**
+	 * Creates the helper writing a length-prefixed string or primitive array.
+	 * Arrays of multi-byte primitives are written in bulk through a view buffer.
+	 *
+	 * @param type The string or primitive array type
+	 * @return The {@code MethodSpec} for the helper
+	 */
+	private static MethodSpec writer(TypeName type) {
+		MethodSpec.Builder writer = MethodSpec.methodBuilder("write").addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.addParameter(ByteBuffer.class, "buffer").addParameter(type, "value")
+				.beginControlFlow("if (value == null)").addStatement("buffer.putInt(-1)").addStatement("return")
+				.endControlFlow();
+		if (!(type instanceof ArrayTypeName array)) {
+			return writer.addStatement("byte[] bytes = value.getBytes($T.UTF_8)", StandardCharsets.class)
+					.addStatement("buffer.putInt(bytes.length).put(bytes)").build();
+		}
+		writer.addStatement("buffer.putInt(value.length)");
+		TypeName component = array.componentType;
+		if (component.equals(TypeName.BYTE)) {
+			writer.addStatement("buffer.put(value)");
+		} else if (component.equals(TypeName.BOOLEAN)) {
+			writer.beginControlFlow("for (boolean element : value)")
+					.addStatement("buffer.put(($T) (element ? 1 : 0))", TypeName.BYTE).endControlFlow();
+		} else {
+			String name = MimicGenerator.pascalCase(component.toString());
+			writer.addStatement("buffer.as$LBuffer().put(value)", name).addStatement(
+					"buffer.position(buffer.position() + value.length * $T.BYTES)", component.box());
+		}
+		return writer.build();
+	}
+
+	/**
+	 * Creates the helper reading a length-prefixed string or primitive array
+	 *
+	 * @param type The string or primitive array type
+	 * @return The {@code MethodSpec} for the helper
+	 */
+	private static MethodSpec reader(TypeName type) {
+		MethodSpec.Builder reader = MethodSpec.methodBuilder(readerName(type))
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC).returns(type)
+				.addParameter(ByteBuffer.class, "buffer").addStatement("int length = buffer.getInt()")
+				.beginControlFlow("if (length < 0)").addStatement("return null").endControlFlow();
+		if (!(type instanceof ArrayTypeName array)) {
+			return reader.addStatement("byte[] bytes = new byte[length]").addStatement("buffer.get(bytes)")
+					.addStatement("return new $T(bytes, $T.UTF_8)", String.class, StandardCharsets.class).build();
+		}
+		TypeName component = array.componentType;
+		reader.addStatement("$T value = new $T[length]", type, component);
+		if (component.equals(TypeName.BYTE)) {
+			reader.addStatement("buffer.get(value)");
+		} else if (component.equals(TypeName.BOOLEAN)) {
+			reader.beginControlFlow("for (int i = 0; i < length; i++)").addStatement("value[i] = buffer.get() != 0")
+					.endControlFlow();
+		} else {
+			String name = MimicGenerator.pascalCase(component.toString());
+			reader.addStatement("buffer.as$LBuffer().get(value)", name)
+					.addStatement("buffer.position(buffer.position() + length * $T.BYTES)", component.box());
+		}
+		return reader.addStatement("return value").build();
+	}
+}
@@ -0,0 +1,226 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+/**
+ * Creates the methods of {@link MimicFeature#BULK}: static {@code gatherX}
+ * methods reading a field of all elements of a {@code List} or array into a
+ * primitive array or {@code Object[]} and {@code scatterX} methods writing the
+ * values back.
+ * <p>
+ * In parallel mode, inputs with at least {@value #PARALLEL_THRESHOLD} elements
+ * are processed by a parallel stream on the common
+ * {@link java.util.concurrent.ForkJoinPool}. Only a {@link RandomAccess}
+ * {@code List} is accessed by index, other lists are traversed with a
+ * {@link ListIterator}.
+ */
+class BulkMethods {
+
+	/**
+	 * The minimal input size to process in parallel
+	 */
+	static final int PARALLEL_THRESHOLD = 8192;
+
+	/**
+	 * The name of the threshold constant in the Mimic
+	 */
+	private static final String THRESHOLD_CONSTANT = "PARALLEL_THRESHOLD";
+
+	/**
+	 * Default constructor
+	 */
+	private BulkMethods() {
+	}
+
+	/**
+	 * Adds the gather and scatter methods for all instance fields to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param fields      The non-constant fields of the model
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, List<FieldAdapter<?>> fields,
+			Handles handles) {
+		typeBuilder.addField(FieldSpec
+				.builder(TypeName.INT, THRESHOLD_CONSTANT, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer("$L", PARALLEL_THRESHOLD).build());
+		TypeName listType = ParameterizedTypeName.get(ClassName.get(List.class),
+				WildcardTypeName.subtypeOf(model.getTypeName()));
+		TypeName arrayType = ArrayTypeName.of(model.getTypeName());
+		for (FieldAdapter<?> f : fields) {
+			if (f.isStatic()) {
+				continue;
+			}
+			String name = MimicGenerator.pascalCase(f.getName());
+			TypeName valuesType = ArrayTypeName.of(f.getType().isPrimitive() ? f.getType() : TypeName.OBJECT);
+
+			typeBuilder.addMethod(delegate("gather" + name, listType, "list", valuesType, null));
+			typeBuilder.addMethod(gather("gather" + name, f, listType, true, valuesType, handles));
+			typeBuilder.addMethod(delegate("gather" + name, arrayType, "array", valuesType, null));
+			typeBuilder.addMethod(gather("gather" + name, f, arrayType, false, valuesType, handles));
+			if (!f.isFinal()) {
+				typeBuilder.addMethod(delegate("scatter" + name, listType, "list", null, valuesType));
+				typeBuilder.addMethod(scatter("scatter" + name, f, listType, true, valuesType, handles));
+				typeBuilder.addMethod(delegate("scatter" + name, arrayType, "array", null, valuesType));
+				typeBuilder.addMethod(scatter("scatter" + name, f, arrayType, false, valuesType, handles));
+			}
+		}
+	}
+
+	/**
+	 * Creates a sequential overload delegating to the method with parallel mode
+	 *
+	 * @param name       The method name
+	 * @param inputType  The type of the input {@code List} or array
+	 * @param input      The name of the input parameter
+	 * @param returnType The type of the gathered values or {@code null} for
+	 *                   scatter methods
+	 * @param valuesType The type of the values to scatter or {@code null} for
+	 *                   gather methods
+	 * @return The {@code MethodSpec} for the overload
+	 */
+	private static MethodSpec delegate(String name, TypeName inputType, String input, TypeName returnType,
+			TypeName valuesType) {
+		MethodSpec.Builder builder = MethodSpec.methodBuilder(name).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(inputType, input);
+		if (returnType != null) {
+			builder.returns(returnType).addStatement("return $L($L, false)", name, input);
+		} else {
+			builder.addParameter(valuesType, "values").addStatement("$L($L, values, false)", name, input);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Creates a gather method
+	 *
+	 * @param name       The method name
+	 * @param f          The field to gather
+	 * @param inputType  The type of the input {@code List} or array
+	 * @param list       If the input is a {@code List}
+	 * @param valuesType The type of the gathered values
+	 * @param handles    The handles of the Mimic
+	 * @return The {@code MethodSpec} for the gather method
+	 */
+	private static MethodSpec gather(String name, FieldAdapter<?> f, TypeName inputType, boolean list,
+			TypeName valuesType, Handles handles) {
+		String input = list ? "list" : "array";
+		MethodSpec.Builder method = MethodSpec.methodBuilder(name).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(valuesType).addParameter(inputType, input).addParameter(TypeName.BOOLEAN, "parallel")
+				.addStatement("$T values = new $T[$L]", valuesType, ((ArrayTypeName) valuesType).componentType,
+						size(list))
+				.beginControlFlow("if (parallel && values.length >= $L$L)", THRESHOLD_CONSTANT, randomAccess(list))
+				.addStatement("$T.range(0, values.length).parallel().forEach(i -> values[i] = $L)", IntStream.class,
+						FieldAccess.read(f, element(list), handles));
+		addSequential(method, inputType, list,
+				target -> CodeBlock.of("values[i] = $L;\n", FieldAccess.read(f, target, handles)));
+		return method.endControlFlow().addStatement("return values").build();
+	}
+
+	/**
+	 * Creates a scatter method
+	 *
+	 * @param name       The method name
+	 * @param f          The field to scatter
+	 * @param inputType  The type of the input {@code List} or array
+	 * @param list       If the input is a {@code List}
+	 * @param valuesType The type of the values to scatter
+	 * @param handles    The handles of the Mimic
+	 * @return The {@code MethodSpec} for the scatter method
+	 */
+	private static MethodSpec scatter(String name, FieldAdapter<?> f, TypeName inputType, boolean list,
+			TypeName valuesType, Handles handles) {
+		String input = list ? "list" : "array";
+		CodeBlock value = f.getType().isPrimitive() || f.getType().equals(TypeName.OBJECT) ? CodeBlock.of("values[i]")
+				: CodeBlock.of("($T) values[i]", f.getType());
+		CodeBlock write = FieldAccess.write(f, element(list), value, handles);
+		MethodSpec.Builder method = MethodSpec.methodBuilder(name).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(inputType, input).addParameter(valuesType, "values")
+				.addParameter(TypeName.BOOLEAN, "parallel").beginControlFlow("if ($L != values.length)", size(list))
+				.addStatement("throw new $T($S + $L + $S + values.length)", IllegalArgumentException.class,
+						"Expected ", size(list), " values but got ")
+				.endControlFlow()
+				.beginControlFlow("if (parallel && values.length >= $L$L)", THRESHOLD_CONSTANT, randomAccess(list))
+				.addCode("$T.range(0, values.length).parallel().forEach(i -> {\n$>", IntStream.class).addCode(write)
+				.addCode("$<});\n");
+		addSequential(method, inputType, list, target -> FieldAccess.write(f, target, value, handles));
+		return method.endControlFlow().build();
+	}
+
+	/**
+	 * Adds the sequential loop over the input as the {@code else} branch of the
+	 * parallel mode. A {@link RandomAccess} {@code List} and arrays are accessed
+	 * by index, other lists with a {@link ListIterator} so a {@code LinkedList} is
+	 * traversed in linear time.
+	 *
+	 * @param method    The gather or scatter method, inside the parallel branch
+	 * @param inputType The type of the input {@code List} or array
+	 * @param list      If the input is a {@code List}
+	 * @param body      Creates the loop body for the expression of the element
+	 *                  at index {@code i}
+	 */
+	private static void addSequential(MethodSpec.Builder method, TypeName inputType, boolean list,
+			Function<String, CodeBlock> body) {
+		if (!list) {
+			method.nextControlFlow("else").beginControlFlow("for (int i = 0; i < values.length; i++)")
+					.addCode(body.apply(element(false))).endControlFlow();
+			return;
+		}
+		TypeName elementType = ((ParameterizedTypeName) inputType).typeArguments.get(0);
+		method.nextControlFlow("else if (list instanceof $T)", RandomAccess.class)
+				.beginControlFlow("for (int i = 0; i < values.length; i++)").addCode(body.apply(element(true)))
+				.endControlFlow().nextControlFlow("else")
+				.addStatement("$T<$T> iterator = list.listIterator()", ListIterator.class, elementType)
+				.beginControlFlow("for (int i = 0; i < values.length; i++)")
+				.addStatement("$T element = iterator.next()", ((WildcardTypeName) elementType).upperBounds.get(0))
+				.addCode(body.apply("element")).endControlFlow();
+	}
+
+	/**
+	 * Returns the expression of the input size
+	 *
+	 * @param list If the input is a {@code List}
+	 * @return The size expression
+	 */
+	private static String size(boolean list) {
+		return list ? "list.size()" : "array.length";
+	}
+
+	/**
+	 * Returns the expression of the input element at index {@code i}
+	 *
+	 * @param list If the input is a {@code List}
+	 * @return The element expression
+	 */
+	private static String element(boolean list) {
+		return list ? "list.get(i)" : "array[i]";
+	}
+
+	/**
+	 * Returns the additional condition for parallel access. Only a
+	 * {@link RandomAccess} {@code List} is processed in parallel.
+	 *
+	 * @param list If the input is a {@code List}
+	 * @return The condition, starting with {@code &&}, or an empty block
+	 */
+	private static CodeBlock randomAccess(boolean list) {
+		return list ? CodeBlock.of(" && list instanceof $T", RandomAccess.class) : CodeBlock.of("");
+	}
+}
@@ -0,0 +1,243 @@
+package dev.bodewig.mimic.generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+/**
+ * The parts of a {@code .class} file needed to create a Mimic, read without
+ * loading the class
+ */
+public final class ClassFile {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private final int access;
+
+	private final String name;
+
+	private final String superclassName;
+
+	private final List<FieldInfo> fields;
+
+	private final List<MethodInfo> methods;
+
+	private ClassFile(int access, String name, String superclassName, List<FieldInfo> fields,
+			List<MethodInfo> methods) {
+		this.access = access;
+		this.name = name;
+		this.superclassName = superclassName;
+		this.fields = fields;
+		this.methods = methods;
+	}
+
+	/**
+	 * Parses the given class file
+	 *
+	 * @param bytes The content of the class file
+	 * @return The parsed class file
+	 * @throws IllegalArgumentException If the bytes are not a valid class file
+	 */
+	public static ClassFile parse(byte[] bytes) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			if (in.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a class file");
+			}
+			in.skipBytes(4); // minor and major version
+			String[] utf8 = new String[in.readUnsignedShort()];
+			int[] classNames = new int[utf8.length];
+			for (int i = 1; i < utf8.length; i++) {
+				int tag = in.readUnsignedByte();
+				switch (tag) {
+				case 1: // Utf8
+					utf8[i] = in.readUTF();
+					break;
+				case 7: // Class
+					classNames[i] = in.readUnsignedShort();
+					break;
+				case 8, 16, 19, 20: // String, MethodType, Module, Package
+					in.skipBytes(2);
+					break;
+				case 15: // MethodHandle
+					in.skipBytes(3);
+					break;
+				case 3, 4, 9, 10, 11, 12, 17, 18: // Integer, Float, refs, NameAndType, dynamic
+					in.skipBytes(4);
+					break;
+				case 5, 6: // Long, Double take two entries
+					in.skipBytes(8);
+					i++;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+				}
+			}
+			int classAccess = in.readUnsignedShort();
+			String name = binaryName(utf8[classNames[in.readUnsignedShort()]]);
+			int superIndex = in.readUnsignedShort();
+			String superclassName = superIndex == 0 ? null : binaryName(utf8[classNames[superIndex]]);
+			in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+			int fieldCount = in.readUnsignedShort();
+			List<FieldInfo> fields = new ArrayList<>(fieldCount);
+			for (int i = 0; i < fieldCount; i++) {
+				int access = in.readUnsignedShort();
+				String fieldName = utf8[in.readUnsignedShort()];
+				String descriptor = utf8[in.readUnsignedShort()];
+				skipAttributes(in);
+				fields.add(new FieldInfo(access, fieldName, descriptor));
+			}
+			int methodCount = in.readUnsignedShort();
+			List<MethodInfo> methods = new ArrayList<>(methodCount);
+			for (int i = 0; i < methodCount; i++) {
+				int access = in.readUnsignedShort();
+				String methodName = utf8[in.readUnsignedShort()];
+				String descriptor = utf8[in.readUnsignedShort()];
+				skipAttributes(in);
+				methods.add(new MethodInfo(access, methodName, descriptor));
+			}
+			return new ClassFile(classAccess, name, superclassName, Collections.unmodifiableList(fields),
+					Collections.unmodifiableList(methods));
+		} catch (IOException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Malformed class file", e);
+		}
+	}
+
+	private static void skipAttributes(DataInputStream in) throws IOException {
+		int attributes = in.readUnsignedShort();
+		for (int j = 0; j < attributes; j++) {
+			in.skipBytes(2);
+			in.skipBytes(in.readInt());
+		}
+	}
+
+	private static String binaryName(String internalName) {
+		return internalName.replace('/', '.');
+	}
+
+	/**
+	 * Creates the {@link ClassName} of a binary class name, nested classes are
+	 * separated by {@code $}
+	 *
+	 * @param binaryName The binary name
+	 * @return The {@link ClassName}
+	 */
+	static ClassName className(String binaryName) {
+		int dot = binaryName.lastIndexOf('.');
+		String packageName = dot < 0 ? "" : binaryName.substring(0, dot);
+		String[] simpleNames = binaryName.substring(dot + 1).split("\\$");
+		return ClassName.get(packageName, simpleNames[0], Arrays.copyOfRange(simpleNames, 1, simpleNames.length));
+	}
+
+	/**
+	 * Creates the {@link TypeName} of a field or return type descriptor
+	 *
+	 * @param descriptor The field or return type descriptor
+	 * @return The {@link TypeName}
+	 */
+	static TypeName typeName(String descriptor) {
+		switch (descriptor.charAt(0)) {
+		case 'B':
+			return TypeName.BYTE;
+		case 'C':
+			return TypeName.CHAR;
+		case 'D':
+			return TypeName.DOUBLE;
+		case 'F':
+			return TypeName.FLOAT;
+		case 'I':
+			return TypeName.INT;
+		case 'J':
+			return TypeName.LONG;
+		case 'S':
+			return TypeName.SHORT;
+		case 'Z':
+			return TypeName.BOOLEAN;
+		case 'V':
+			return TypeName.VOID;
+		case '[':
+			return ArrayTypeName.of(typeName(descriptor.substring(1)));
+		case 'L':
+			return className(binaryName(descriptor.substring(1, descriptor.indexOf(';'))));
+		default:
+			throw new IllegalArgumentException("Invalid field descriptor " + descriptor);
+		}
+	}
+
+	/**
+	 * Returns the access flags of the class
+	 *
+	 * @return The access flags as defined in {@link java.lang.reflect.Modifier}
+	 */
+	public int getAccess() {
+		return access;
+	}
+
+	/**
+	 * Returns the binary name of the class, e.g. {@code my.package.Outer$Inner}
+	 *
+	 * @return The binary name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the binary name of the superclass
+	 *
+	 * @return The binary name of the superclass or {@code null} for
+	 *         {@code java.lang.Object}
+	 */
+	public String getSuperclassName() {
+		return superclassName;
+	}
+
+	/**
+	 * Returns the fields declared by the class in declaration order
+	 *
+	 * @return The declared fields
+	 */
+	public List<FieldInfo> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Returns the methods, constructors and initializers declared by the class in
+	 * declaration order
+	 *
+	 * @return The declared methods
+	 */
+	public List<MethodInfo> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * A field declared in a class file
+	 *
+	 * @param access     The access flags as defined in {@link java.lang.reflect.Modifier}
+	 * @param name       The name of the field
+	 * @param descriptor The type descriptor of the field, e.g. {@code I} or
+	 *                   {@code Ljava/lang/String;}
+	 */
+	public record FieldInfo(int access, String name, String descriptor) {
+	}
+
+	/**
+	 * A method declared in a class file
+	 *
+	 * @param access     The access flags as defined in {@link java.lang.reflect.Modifier}
+	 *                   and the JVM specification, e.g. {@code 0x1000} for synthetic
+	 *                   methods
+	 * @param name       The name of the method, {@code <init>} for constructors
+	 * @param descriptor The method descriptor, e.g. {@code (ILjava/lang/String;)V}
+	 */
+	public record MethodInfo(int access, String name, String descriptor) {
+	}
+}
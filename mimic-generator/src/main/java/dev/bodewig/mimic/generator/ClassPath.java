@@ -0,0 +1,110 @@
+package dev.bodewig.mimic.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads {@code .class} files from directories and jars without loading the
+ * classes
+ * <p>
+ * Classes not found in any element are read from the platform class loader,
+ * e.g. JDK superclasses.
+ */
+public class ClassPath implements AutoCloseable {
+
+	/**
+	 * The class path directories
+	 */
+	protected final List<File> directories = new ArrayList<>();
+
+	/**
+	 * The opened class path jars
+	 */
+	protected final List<ZipFile> jars = new ArrayList<>();
+
+	/**
+	 * Opens all jars of the given class path, elements that do not exist are
+	 * skipped
+	 *
+	 * @param elements The directories and jars
+	 * @throws IOException If a jar cannot be opened
+	 */
+	public ClassPath(List<File> elements) throws IOException {
+		try {
+			for (File element : elements) {
+				if (element.isDirectory()) {
+					directories.add(element);
+				} else if (element.isFile()) {
+					jars.add(new ZipFile(element));
+				}
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the bytes of a class file
+	 *
+	 * @param className The binary name of the class
+	 * @return The content of the class file or {@code null} if it is not found
+	 * @throws IOException If reading the class file fails
+	 */
+	public byte[] read(String className) throws IOException {
+		String resource = className.replace('.', '/') + ".class";
+		for (File directory : directories) {
+			File file = new File(directory, resource);
+			if (file.isFile()) {
+				return Files.readAllBytes(file.toPath());
+			}
+		}
+		for (ZipFile jar : jars) {
+			ZipEntry entry = jar.getEntry(resource);
+			if (entry != null) {
+				try (InputStream in = jar.getInputStream(entry)) {
+					return in.readAllBytes();
+				}
+			}
+		}
+		try (InputStream in = ClassLoader.getPlatformClassLoader().getResourceAsStream(resource)) {
+			return in == null ? null : in.readAllBytes();
+		}
+	}
+
+	/**
+	 * Reads and parses a class file
+	 *
+	 * @param className The binary name of the class
+	 * @return The parsed class file
+	 * @throws IOException If the class file is not found or cannot be read
+	 */
+	public ClassFile load(String className) throws IOException {
+		byte[] bytes = read(className);
+		if (bytes == null) {
+			throw new IOException("Class file of " + className + " not found");
+		}
+		return ClassFile.parse(bytes);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException failure = null;
+		for (ZipFile jar : jars) {
+			try {
+				jar.close();
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
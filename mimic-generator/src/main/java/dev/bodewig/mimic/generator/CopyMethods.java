@@ -0,0 +1,89 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#COPY}: {@code copyFrom} and
+ * {@code copyTo} between the wrapped instance and another instance, for all or
+ * a subset of the non-final instance fields. {@code copyFrom} marks the copied
+ * fields as dirty with {@link MimicFeature#DIRTY_TRACKING}.
+ */
+class CopyMethods {
+
+	/**
+	 * Default constructor
+	 */
+	private CopyMethods() {
+	}
+
+	/**
+	 * Adds the copy methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param fieldsType  The name of the {@code Fields} enum
+	 * @param fields      The non-constant fields of the model
+	 * @param options     The options of the Mimic
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName fieldsType,
+			List<FieldAdapter<?>> fields, MimicOptions options, Handles handles) {
+		List<FieldAdapter<?>> copied = fields.stream().filter(f -> !f.isStatic() && !f.isFinal())
+				.collect(Collectors.toList());
+		Function<FieldAdapter<?>, CodeBlock> mark = f -> DirtyTracking.markIfTracked(f, fields, options);
+		Function<FieldAdapter<?>, CodeBlock> none = f -> CodeBlock.of("");
+		typeBuilder.addMethod(copy("copyFrom", "other", "other", "instance", model, copied, null, mark, handles));
+		typeBuilder.addMethod(copy("copyTo", "target", "instance", "target", model, copied, null, none, handles));
+		typeBuilder.addMethod(
+				copy("copyFrom", "other", "other", "instance", model, copied, fieldsType, mark, handles));
+		typeBuilder.addMethod(
+				copy("copyTo", "target", "instance", "target", model, copied, fieldsType, none, handles));
+	}
+
+	/**
+	 * Creates a copy method
+	 *
+	 * @param name       The method name
+	 * @param parameter  The name of the parameter for the other instance
+	 * @param source     The expression of the instance to read from
+	 * @param target     The expression of the instance to write to
+	 * @param model      The model of the Mimic
+	 * @param copied     The fields to copy
+	 * @param fieldsType The name of the {@code Fields} enum to select the fields
+	 *                   to copy or {@code null} to copy all fields
+	 * @param mark       Creates the statement marking a copied field as dirty
+	 * @param handles    The handles of the Mimic
+	 * @return The {@code MethodSpec} for the copy method
+	 */
+	private static MethodSpec copy(String name, String parameter, String source, String target,
+			ModelAdapter<?> model, List<FieldAdapter<?>> copied, ClassName fieldsType, Function<FieldAdapter<?>, CodeBlock> mark,
+			Handles handles) {
+		MethodSpec.Builder builder = MethodSpec.methodBuilder(name).addModifiers(Modifier.PUBLIC)
+				.addParameter(model.getTypeName(), parameter);
+		if (fieldsType != null) {
+			builder.addParameter(ParameterizedTypeName.get(ClassName.get(Set.class), fieldsType), "fields");
+		}
+		for (FieldAdapter<?> f : copied) {
+			if (fieldsType != null) {
+				builder.beginControlFlow("if (fields.contains($T.$L))", fieldsType, FieldsType.constant(f));
+			}
+			builder.addCode(FieldAccess.write(f, target, FieldAccess.read(f, source, handles), handles))
+					.addCode(mark.apply(f));
+			if (fieldsType != null) {
+				builder.endControlFlow();
+			}
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,116 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#DEEP_CLONE}: static
+ * {@code deepClone} methods allocating a copy with the no-args constructor and
+ * copying all instance fields.
+ * <p>
+ * Fields whose type is the mimicked class or a class in
+ * {@link MimicOptions#getMimics()} are cloned by the {@code deepClone} method of
+ * that Mimic, arrays of such types element by element. Other arrays are copied
+ * with {@code clone()}, all other values are copied as is. An
+ * {@link IdentityHashMap} of the clones preserves shared references and
+ * cycles.
+ */
+class DeepClone {
+
+	/**
+	 * Default constructor
+	 */
+	private DeepClone() {
+	}
+
+	/**
+	 * Adds the clone methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @param options     The options to customize the Mimic
+	 * @param handles     The handles of the Mimic
+	 * @throws RuntimeException If the model is abstract or has no no-args
+	 *                          constructor
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName mimicType,
+			List<FieldAdapter<?>> fields, MimicOptions options, Handles handles) {
+		if (!InstanceFactories.addAllocator(typeBuilder, model, handles)) {
+			throw new RuntimeException(
+					MimicFeature.DEEP_CLONE + " requires a no-args constructor in " + model.getTypeName());
+		}
+
+		TypeName type = model.getTypeName();
+		TypeName rawType = MimicGenerator.rawType(type);
+		TypeName clonesType = ParameterizedTypeName.get(Map.class, Object.class, Object.class);
+		typeBuilder.addMethod(MethodSpec.methodBuilder("deepClone").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(type).addParameter(type, "original")
+				.addStatement("return deepClone(original, new $T<>())", IdentityHashMap.class).build());
+
+		MethodSpec.Builder deepClone = MethodSpec.methodBuilder("deepClone")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC).returns(type).addParameter(type, "original")
+				.addParameter(clonesType, "clones").beginControlFlow("if (original == null)")
+				.addStatement("return null").endControlFlow()
+				.addStatement("$T existing = clones.get(original)", Object.class)
+				.beginControlFlow("if (existing != null)").addStatement("return ($T) existing", type)
+				.endControlFlow().beginControlFlow("if (original.getClass() != $T.class)", rawType)
+				.addStatement("throw new $T(\"Cannot clone subclass \" + original.getClass().getName())",
+						IllegalArgumentException.class)
+				.endControlFlow().addStatement("$T copy = $L()", type, InstanceFactories.ALLOCATOR)
+				.addStatement("clones.put(original, copy)");
+
+		Map<String, ClassName> mimics = MimicGenerator.mimicTypes(model, mimicType, options);
+
+		Set<TypeName> arrayTypes = new LinkedHashSet<>();
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAdapter<?> f = fields.get(i);
+			if (f.isStatic()) {
+				continue;
+			}
+			CodeBlock value = FieldAccess.read(f, "original", handles);
+			TypeName fieldType = f.getRawType();
+			if (mimics.containsKey(fieldType.toString())) {
+				value = CodeBlock.of("$T.deepClone($L, clones)", mimics.get(fieldType.toString()), value);
+			} else if (fieldType instanceof ArrayTypeName array) {
+				if (mimics.containsKey(array.componentType.toString())) {
+					arrayTypes.add(array);
+					value = CodeBlock.of("cloneArray($L, clones)", value);
+				} else {
+					String local = "array" + i;
+					deepClone.addStatement("$T $L = $L", array, local, value);
+					value = CodeBlock.of("$L == null ? null : $L.clone()", local, local);
+				}
+			}
+			deepClone.addCode(FieldAccess.write(f, "copy", value, handles));
+		}
+		typeBuilder.addMethod(deepClone.addStatement("return copy").build());
+
+		for (TypeName arrayType : arrayTypes) {
+			ClassName component = mimics.get(((ArrayTypeName) arrayType).componentType.toString());
+			typeBuilder.addMethod(MethodSpec.methodBuilder("cloneArray")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC).returns(arrayType)
+					.addParameter(arrayType, "array").addParameter(clonesType, "clones")
+					.beginControlFlow("if (array == null)").addStatement("return null").endControlFlow()
+					.addStatement("$T copy = new $T[array.length]", arrayType,
+							((ArrayTypeName) arrayType).componentType)
+					.beginControlFlow("for (int i = 0; i < array.length; i++)")
+					.addStatement("copy[i] = $T.deepClone(array[i], clones)", component).endControlFlow()
+					.addStatement("return copy").build());
+		}
+	}
+}
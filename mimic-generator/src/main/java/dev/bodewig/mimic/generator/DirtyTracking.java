@@ -0,0 +1,190 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#DIRTY_TRACKING}: every instance
+ * method of the Mimic writing an instance field of the wrapped instance sets
+ * the bit of the field's {@code Fields} constant in a bitset of the Mimic,
+ * which is queried by {@code dirtyFields()}, {@code isDirty(Fields)} and
+ * {@code visitDirty(BiConsumer)} and reset by {@code clearDirty()}. These are
+ * the setters, the writers of {@link MimicFeature#ATOMICS}, {@code restore} and
+ * {@code copyFrom}. Static methods like {@code decode} work on plain instances
+ * and cannot mark a Mimic.
+ * <p>
+ * Models with up to 64 fields use a single {@code long}, larger models a
+ * {@code long[]}. The bitset is not thread-safe, not even when the field is
+ * written by an atomic accessor.
+ */
+class DirtyTracking {
+
+	/**
+	 * The name of the bitset field
+	 */
+	private static final String DIRTY = "dirty";
+
+	/**
+	 * The name of the cached {@code Fields} constants
+	 */
+	private static final String FIELD_CONSTANTS = "DIRTY_FIELDS";
+
+	/**
+	 * Default constructor
+	 */
+	private DirtyTracking() {
+	}
+
+	/**
+	 * Creates the statement marking a field as dirty
+	 *
+	 * @param index  The index of the field in the {@code Fields} enum
+	 * @param fields The non-constant fields of the model
+	 * @return The statement to add to the setter
+	 */
+	static CodeBlock mark(int index, List<FieldAdapter<?>> fields) {
+		if (isSingleWord(fields)) {
+			return CodeBlock.of("$L |= 1L << $L", DIRTY, index);
+		}
+		return CodeBlock.of("$L[$L] |= 1L << $L", DIRTY, index >>> 6, index & 63);
+	}
+
+	/**
+	 * Creates the statement marking a field as dirty if the Mimic tracks it
+	 *
+	 * @param f       The written field
+	 * @param fields  The non-constant fields of the model
+	 * @param options The options of the Mimic
+	 * @return The statement or an empty block if the field is not tracked
+	 */
+	static CodeBlock markIfTracked(FieldAdapter<?> f, List<FieldAdapter<?>> fields, MimicOptions options) {
+		if (!options.hasFeature(MimicFeature.DIRTY_TRACKING) || f.isStatic()) {
+			return CodeBlock.of("");
+		}
+		return CodeBlock.builder().addStatement(mark(fields.indexOf(f), fields)).build();
+	}
+
+	/**
+	 * Creates the statement clearing all dirty bits
+	 *
+	 * @param fields The non-constant fields of the model
+	 * @return The statement
+	 */
+	static CodeBlock clear(List<FieldAdapter<?>> fields) {
+		if (isSingleWord(fields)) {
+			return CodeBlock.of("$L = 0", DIRTY);
+		}
+		return CodeBlock.of("$T.fill($L, 0L)", Arrays.class, DIRTY);
+	}
+
+	/**
+	 * Adds the bitset and the query methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param fieldsType  The name of the {@code Fields} enum
+	 * @param fields      The non-constant fields of the model
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ClassName fieldsType, List<FieldAdapter<?>> fields,
+			Handles handles) {
+		if (isSingleWord(fields)) {
+			typeBuilder.addField(TypeName.LONG, DIRTY, Modifier.PRIVATE);
+		} else {
+			typeBuilder.addField(FieldSpec.builder(long[].class, DIRTY, Modifier.PRIVATE, Modifier.FINAL)
+					.initializer("new long[$L]", (fields.size() + 63) >>> 6).build());
+		}
+		typeBuilder.addField(FieldSpec
+				.builder(ArrayTypeName.of(fieldsType), FIELD_CONSTANTS, Modifier.PRIVATE, Modifier.STATIC,
+						Modifier.FINAL)
+				.initializer("$T.values()", fieldsType).build());
+
+		typeBuilder.addMethod(MethodSpec.methodBuilder("isDirty").addModifiers(Modifier.PUBLIC)
+				.returns(TypeName.BOOLEAN).addParameter(fieldsType, "field")
+				.addStatement(isSingleWord(fields) ? "return ($L & 1L << field.ordinal()) != 0"
+						: "return ($L[field.ordinal() >>> 6] & 1L << field.ordinal()) != 0", DIRTY)
+				.build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("clearDirty").addModifiers(Modifier.PUBLIC)
+				.addStatement(clear(fields)).build());
+
+		TypeName setType = ParameterizedTypeName.get(ClassName.get(Set.class), fieldsType);
+		typeBuilder.addMethod(forEachDirty(MethodSpec.methodBuilder("dirtyFields").addModifiers(Modifier.PUBLIC)
+				.returns(setType).addStatement("$T dirtyFields = $T.noneOf($T.class)", setType, EnumSet.class,
+						fieldsType),
+				CodeBlock.of("dirtyFields.add($L[i])", FIELD_CONSTANTS), fields)
+				.addStatement("return dirtyFields").build());
+
+		TypeName visitorType = ParameterizedTypeName.get(ClassName.get(BiConsumer.class), fieldsType,
+				TypeName.OBJECT);
+		typeBuilder.addMethod(forEachDirty(
+				MethodSpec.methodBuilder("visitDirty").addModifiers(Modifier.PUBLIC).addParameter(visitorType,
+						"visitor"),
+				CodeBlock.of("visitor.accept($L[i], readDirty($L[i]))", FIELD_CONSTANTS, FIELD_CONSTANTS), fields)
+				.build());
+
+		MethodSpec.Builder read = MethodSpec.methodBuilder("readDirty").addModifiers(Modifier.PRIVATE)
+				.returns(TypeName.OBJECT).addParameter(fieldsType, "field").beginControlFlow("switch (field)");
+		for (FieldAdapter<?> f : fields) {
+			if (!f.isStatic()) {
+				read.addCode("case $L:\n$>", FieldsType.constant(f))
+						.addStatement("return $L", FieldAccess.read(f, "instance", handles)).addCode("$<");
+			}
+		}
+		read.addCode("default:\n$>")
+				.addStatement("throw new $T(\"Not an instance field: \" + field)", IllegalArgumentException.class)
+				.addCode("$<").endControlFlow();
+		typeBuilder.addMethod(read.build());
+	}
+
+	/**
+	 * Adds a loop over the indexes {@code i} of the dirty fields to a method. The
+	 * loop only visits the set bits, so its cost follows the number of dirty
+	 * fields.
+	 *
+	 * @param method The builder of the method
+	 * @param body   The statement to execute for each dirty field
+	 * @param fields The non-constant fields of the model
+	 * @return The builder of the method
+	 */
+	private static MethodSpec.Builder forEachDirty(MethodSpec.Builder method, CodeBlock body,
+			List<FieldAdapter<?>> fields) {
+		boolean single = isSingleWord(fields);
+		if (single) {
+			method.addStatement("long bits = $L", DIRTY);
+		} else {
+			method.beginControlFlow("for (int w = 0; w < $L.length; w++)", DIRTY)
+					.addStatement("long bits = $L[w]", DIRTY);
+		}
+		method.beginControlFlow("while (bits != 0)")
+				.addStatement(single ? "int i = $T.numberOfTrailingZeros(bits)"
+						: "int i = w << 6 | $T.numberOfTrailingZeros(bits)", Long.class)
+				.addStatement("bits &= bits - 1").addStatement(body).endControlFlow();
+		if (!single) {
+			method.endControlFlow();
+		}
+		return method;
+	}
+
+	/**
+	 * Returns if the bitset fits into a single {@code long}
+	 *
+	 * @param fields The non-constant fields of the model
+	 * @return If there are at most 64 fields
+	 */
+	static boolean isSingleWord(List<FieldAdapter<?>> fields) {
+		return fields.size() <= 64;
+	}
+}
@@ -0,0 +1,163 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+/**
+ * Creates the methods of {@link MimicFeature#DYNAMIC_ACCESS}: {@code get} and
+ * {@code set} methods addressing the fields by index or name, typed overloads
+ * for each primitive field type and a static {@code FIELD_DESCRIPTORS} table.
+ * <p>
+ * The index of a field is its position in the table. Names are resolved by a
+ * {@code switch} on the name, all accesses delegate to the getters and setters
+ * of the Mimic.
+ */
+class DynamicAccess {
+
+	/**
+	 * The simple name of the nested descriptor type
+	 */
+	static final String DESCRIPTOR_TYPE = "FieldDescriptor";
+
+	/**
+	 * Default constructor
+	 */
+	private DynamicAccess() {
+	}
+
+	/**
+	 * Adds the descriptor table and the dynamic accessors to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ClassName mimicType, List<FieldAdapter<?>> fields) {
+		ClassName descriptorType = mimicType.nestedClass(DESCRIPTOR_TYPE);
+		typeBuilder.addType(createDescriptorType(descriptorType));
+		CodeBlock descriptors = CodeBlock.builder().add("$T.of(", List.class)
+				.add(fields.stream()
+						.map(f -> CodeBlock.of("new $T($S, $T.class, $L, $L)", descriptorType, f.getName(),
+								f.getRawType(), fields.indexOf(f), f.isStatic()))
+						.collect(CodeBlock.joining(", ")))
+				.add(")").build();
+		TypeName descriptorsType = ParameterizedTypeName.get(ClassName.get(List.class), descriptorType);
+		typeBuilder.addField(FieldSpec
+				.builder(descriptorsType, "FIELD_DESCRIPTORS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.addJavadoc("The fields accessible by {@code get} and {@code set} in index order\n")
+				.initializer(descriptors).build());
+
+		MethodSpec.Builder indexOf = MethodSpec.methodBuilder("indexOf")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC).returns(TypeName.INT).addParameter(String.class, "name")
+				.beginControlFlow("switch (name)");
+		for (int i = 0; i < fields.size(); i++) {
+			indexOf.addStatement("case $S: return $L", fields.get(i).getName(), i);
+		}
+		typeBuilder.addMethod(indexOf.addStatement("default: return -1").endControlFlow().build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("requireIndex").addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.returns(TypeName.INT).addParameter(String.class, "name").addStatement("int index = indexOf(name)")
+				.beginControlFlow("if (index < 0)")
+				.addStatement("throw new $T($S + name)", IllegalArgumentException.class, "Unknown field ")
+				.endControlFlow().addStatement("return index").build());
+
+		addAccessors(typeBuilder, fields, TypeName.OBJECT, "");
+		Set<TypeName> primitives = new LinkedHashSet<>();
+		fields.stream().map(FieldAdapter::getType).filter(TypeName::isPrimitive).forEach(primitives::add);
+		for (TypeName primitive : primitives) {
+			addAccessors(typeBuilder, fields, primitive, MimicGenerator.pascalCase(primitive.toString()));
+		}
+	}
+
+	/**
+	 * Adds the {@code get} and {@code set} methods by index and name for fields
+	 * of a type
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @param type        The value type of the methods, {@code Object} for all
+	 *                    fields
+	 * @param suffix      The suffix of the method names, e.g. {@code Int}
+	 */
+	private static void addAccessors(TypeSpec.Builder typeBuilder, List<FieldAdapter<?>> fields, TypeName type,
+			String suffix) {
+		boolean all = type.equals(TypeName.OBJECT);
+		String message = all ? "No field at index " : "No " + type + " field at index ";
+		MethodSpec.Builder get = MethodSpec.methodBuilder("get" + suffix).addModifiers(Modifier.PUBLIC)
+				.returns(type).addParameter(TypeName.INT, "index").beginControlFlow("switch (index)");
+		MethodSpec.Builder set = MethodSpec.methodBuilder("set" + suffix).addModifiers(Modifier.PUBLIC)
+				.addParameter(TypeName.INT, "index").addParameter(type, "value").beginControlFlow("switch (index)");
+		boolean unchecked = false;
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAdapter<?> f = fields.get(i);
+			if (!all && !f.getType().equals(type)) {
+				continue;
+			}
+			String name = MimicGenerator.pascalCase(f.getName());
+			get.addStatement("case $L: return get$L()", i, name);
+			if (all) {
+				set.addStatement("case $L: set$L(($T) value); return", i, name, f.getType());
+				unchecked |= !f.getType().equals(f.getRawType()) && !f.getType().isPrimitive();
+			} else {
+				set.addStatement("case $L: set$L(value); return", i, name);
+			}
+		}
+		get.addStatement("default: throw new $T($S + index)", IllegalArgumentException.class, message)
+				.endControlFlow();
+		set.addStatement("default: throw new $T($S + index)", IllegalArgumentException.class, message)
+				.endControlFlow();
+		if (unchecked) {
+			set.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked")
+					.build());
+		}
+		typeBuilder.addMethod(get.build());
+		typeBuilder.addMethod(set.build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("get" + suffix).addModifiers(Modifier.PUBLIC).returns(type)
+				.addParameter(String.class, "name").addStatement("return get$L(requireIndex(name))", suffix).build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("set" + suffix).addModifiers(Modifier.PUBLIC)
+				.addParameter(String.class, "name").addParameter(type, "value")
+				.addStatement("set$L(requireIndex(name), value)", suffix).build());
+	}
+
+	/**
+	 * Creates the immutable descriptor type with the name, raw type, index and
+	 * static modifier of a field
+	 *
+	 * @param descriptorType The name of the descriptor type
+	 * @return The {@code TypeSpec} for the descriptor type
+	 */
+	private static TypeSpec createDescriptorType(ClassName descriptorType) {
+		TypeName classType = ParameterizedTypeName.get(ClassName.get(Class.class),
+				WildcardTypeName.subtypeOf(Object.class));
+		TypeSpec.Builder builder = TypeSpec.classBuilder(DESCRIPTOR_TYPE)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
+		MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
+		String[] names = { "name", "type", "index", "isStatic" };
+		TypeName[] types = { ClassName.get(String.class), classType, TypeName.INT, TypeName.BOOLEAN };
+		for (int i = 0; i < names.length; i++) {
+			builder.addField(types[i], names[i], Modifier.PRIVATE, Modifier.FINAL);
+			constructor.addParameter(types[i], names[i]).addStatement("this.$L = $L", names[i], names[i]);
+			builder.addMethod(MethodSpec.methodBuilder(names[i]).addModifiers(Modifier.PUBLIC).returns(types[i])
+					.addStatement("return $L", names[i]).build());
+		}
+		builder.addMethod(constructor.build());
+		builder.addMethod(MethodSpec.methodBuilder("toString").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(String.class)
+				.addStatement("return $S + name + $S + type.getName() + $S + index + $S + isStatic + $S",
+						DESCRIPTOR_TYPE + "[name=", ", type=", ", index=", ", isStatic=", "]")
+				.build());
+		return builder.build();
+	}
+}
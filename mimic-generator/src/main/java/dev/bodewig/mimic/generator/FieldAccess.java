@@ -0,0 +1,73 @@
+package dev.bodewig.mimic.generator;
+
+import com.squareup.javapoet.CodeBlock;
+
+/**
+ * Creates code to read and write fields with the fastest strategy available:
+ * direct access for public fields, a {@link java.lang.invoke.VarHandle}
+ * otherwise and a setter {@link java.lang.invoke.MethodHandle} to write final
+ * fields.
+ */
+class FieldAccess {
+
+	/**
+	 * Default constructor
+	 */
+	private FieldAccess() {
+	}
+
+	/**
+	 * Creates an expression reading the field of the target
+	 *
+	 * @param f       The field to read
+	 * @param target  The expression of the instance to read from, ignored for
+	 *                static fields
+	 * @param handles The handles of the Mimic
+	 * @return The read expression
+	 */
+	static CodeBlock read(FieldAdapter<?> f, String target, Handles handles) {
+		if (f.isPublic()) {
+			if (f.isStatic()) {
+				return CodeBlock.of("$T.$L", f.getDeclaringClass(), f.getName());
+			}
+			return CodeBlock.of("$L.$L", target, f.getName());
+		}
+		String handle = handles.varHandle(f);
+		if (f.isStatic()) {
+			return CodeBlock.of("($T) $L.get()", f.getType(), handle);
+		}
+		return CodeBlock.of("($T) $L.get($L)", f.getType(), handle, target);
+	}
+
+	/**
+	 * Creates the statements writing a value to the field of the target
+	 *
+	 * @param f       The field to write
+	 * @param target  The expression of the instance to write to, ignored for
+	 *                static fields
+	 * @param value   The expression of the value to write
+	 * @param handles The handles of the Mimic
+	 * @return The write statements
+	 */
+	static CodeBlock write(FieldAdapter<?> f, String target, CodeBlock value, Handles handles) {
+		CodeBlock.Builder code = CodeBlock.builder();
+		if (f.isPublic() && !f.isFinal()) {
+			if (f.isStatic()) {
+				code.addStatement("$T.$L = $L", f.getDeclaringClass(), f.getName(), value);
+			} else {
+				code.addStatement("$L.$L = $L", target, f.getName(), value);
+			}
+		} else if (f.isFinal()) {
+			code.beginControlFlow("try")
+					.addStatement("$L.invokeExact(($T) $L, ($T) $L)", handles.setter(f), f.getDeclaringClass(), target,
+							f.getRawType(), value)
+					.nextControlFlow("catch ($T e)", Throwable.class)
+					.addStatement("throw new $T(e)", RuntimeException.class).endControlFlow();
+		} else if (f.isStatic()) {
+			code.addStatement("$L.set($L)", handles.varHandle(f), value);
+		} else {
+			code.addStatement("$L.set($L, $L)", handles.varHandle(f), target, value);
+		}
+		return code.build();
+	}
+}
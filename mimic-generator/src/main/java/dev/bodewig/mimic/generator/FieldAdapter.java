@@ -4,13 +4,21 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
-
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.TypeName;
 
 /**
- * Adapter to delegate operations to a {@link FieldFieldAdapter} or
- * {@link VariableFieldAdapter}
+ * Adapter to delegate operations to a {@link FieldFieldAdapter},
+ * {@link VariableFieldAdapter} or {@link ClassFileFieldAdapter}
  *
  * @param <T> The return type of {@link #getDeclaringClass()}
  */
@@ -30,6 +38,13 @@ public interface FieldAdapter<T> {
 	 */
 	TypeName getType();
 
+	/**
+	 * Return the {@link TypeName} of the field's erasure
+	 *
+	 * @return The field's raw {@link TypeName}
+	 */
+	TypeName getRawType();
+
 	/**
 	 * Returns if the field is public
 	 *
@@ -44,6 +59,13 @@ public interface FieldAdapter<T> {
 	 */
 	boolean isFinal();
 
+	/**
+	 * Returns if the field is static
+	 *
+	 * @return If the field is static
+	 */
+	boolean isStatic();
+
 	/**
 	 * Returns if the field is a constant
 	 *
@@ -78,6 +100,17 @@ public interface FieldAdapter<T> {
 		return new VariableFieldAdapter(variable);
 	}
 
+	/**
+	 * Static initializer for a field read from a class file
+	 *
+	 * @param declaringClass The class declaring the field
+	 * @param field          The field read from the class file
+	 * @return A {@code FieldAdapter} with the {@code field} instance
+	 */
+	static FieldAdapter<ClassName> from(ClassName declaringClass, ClassFile.FieldInfo field) {
+		return new ClassFileFieldAdapter(declaringClass, field);
+	}
+
 	/**
 	 * {@link FieldAdapter} for a {@link Field} instance
 	 */
@@ -107,6 +140,11 @@ public interface FieldAdapter<T> {
 			return TypeName.get(field.getType());
 		}
 
+		@Override
+		public TypeName getRawType() {
+			return TypeName.get(field.getType());
+		}
+
 		@Override
 		public boolean isPublic() {
 			return Modifier.isPublic(field.getModifiers());
@@ -117,6 +155,11 @@ public interface FieldAdapter<T> {
 			return Modifier.isFinal(field.getModifiers());
 		}
 
+		@Override
+		public boolean isStatic() {
+			return Modifier.isStatic(field.getModifiers());
+		}
+
 		@Override
 		public boolean isConstant() {
 			return Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers());
@@ -162,6 +205,11 @@ public interface FieldAdapter<T> {
 			return TypeName.get(variable.asType());
 		}
 
+		@Override
+		public TypeName getRawType() {
+			return erasure(variable.asType());
+		}
+
 		@Override
 		public boolean isPublic() {
 			return variable.getModifiers().contains(javax.lang.model.element.Modifier.PUBLIC);
@@ -172,6 +220,11 @@ public interface FieldAdapter<T> {
 			return variable.getModifiers().contains(javax.lang.model.element.Modifier.FINAL);
 		}
 
+		@Override
+		public boolean isStatic() {
+			return variable.getModifiers().contains(javax.lang.model.element.Modifier.STATIC);
+		}
+
 		@Override
 		public boolean isConstant() {
 			return variable.getModifiers().contains(javax.lang.model.element.Modifier.STATIC)
@@ -187,5 +240,98 @@ public interface FieldAdapter<T> {
 		public String toString() {
 			return "VariableFieldAdapter(" + variable.getSimpleName() + ")";
 		}
+
+		/**
+		 * Computes the {@link TypeName} of the erasure of a {@link TypeMirror}
+		 *
+		 * @param type The type to erase
+		 * @return The erased {@link TypeName}
+		 */
+		protected static TypeName erasure(TypeMirror type) {
+			switch (type.getKind()) {
+			case DECLARED:
+				return ClassName.get((TypeElement) ((DeclaredType) type).asElement());
+			case ARRAY:
+				return ArrayTypeName.of(erasure(((ArrayType) type).getComponentType()));
+			case TYPEVAR:
+				return erasure(((TypeVariable) type).getUpperBound());
+			case INTERSECTION:
+				return erasure(((IntersectionType) type).getBounds().get(0));
+			default:
+				return TypeName.get(type);
+			}
+		}
+	}
+
+	/**
+	 * {@link FieldAdapter} for a {@link ClassFile.FieldInfo} instance
+	 */
+	class ClassFileFieldAdapter implements FieldAdapter<ClassName> {
+
+		/**
+		 * The class declaring the field
+		 */
+		protected final ClassName declaringClass;
+
+		/**
+		 * The {@code FieldInfo} instance
+		 */
+		protected final ClassFile.FieldInfo field;
+
+		/**
+		 * Constructor with a {@code FieldInfo} instance
+		 *
+		 * @param declaringClass The class declaring the field
+		 * @param field          The {@code FieldInfo} instance
+		 */
+		public ClassFileFieldAdapter(ClassName declaringClass, ClassFile.FieldInfo field) {
+			this.declaringClass = declaringClass;
+			this.field = field;
+		}
+
+		@Override
+		public String getName() {
+			return field.name();
+		}
+
+		@Override
+		public TypeName getType() {
+			return ClassFile.typeName(field.descriptor());
+		}
+
+		@Override
+		public TypeName getRawType() {
+			return ClassFile.typeName(field.descriptor());
+		}
+
+		@Override
+		public boolean isPublic() {
+			return Modifier.isPublic(field.access());
+		}
+
+		@Override
+		public boolean isFinal() {
+			return Modifier.isFinal(field.access());
+		}
+
+		@Override
+		public boolean isStatic() {
+			return Modifier.isStatic(field.access());
+		}
+
+		@Override
+		public boolean isConstant() {
+			return Modifier.isStatic(field.access()) && Modifier.isFinal(field.access());
+		}
+
+		@Override
+		public ClassName getDeclaringClass() {
+			return declaringClass;
+		}
+
+		@Override
+		public String toString() {
+			return "ClassFileFieldAdapter(" + field.name() + ")";
+		}
 	}
 }
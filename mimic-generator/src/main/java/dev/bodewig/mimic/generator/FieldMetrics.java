@@ -0,0 +1,150 @@
+package dev.bodewig.mimic.generator;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.lang.model.element.Modifier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the counters of {@link MimicFeature#METRICS}: a {@link LongAdder} for
+ * the gets and one for the sets of each non-constant field, incremented by the
+ * getters and setters of the Mimic.
+ * <p>
+ * The counters are published by a nested {@code MetricsMXBean}, registered in
+ * the platform {@link MBeanServer} under {@value #DOMAIN} when the Mimic is
+ * initialized. The platform {@code MBeanServer} is the registry of all Mimics,
+ * they can be queried with the pattern {@code dev.bodewig.mimic:type=Mimic,*}.
+ * If the Mimic is loaded by several class loaders, later copies add the
+ * identity hash of their class loader as {@code loader} key to the name. A
+ * failed registration is logged and does not fail the initialization of the
+ * Mimic.
+ */
+class FieldMetrics {
+
+	/**
+	 * The JMX domain of all Mimic MXBeans
+	 */
+	static final String DOMAIN = "dev.bodewig.mimic";
+
+	/**
+	 * The simple name of the nested MXBean interface
+	 */
+	static final String MXBEAN_TYPE = "MetricsMXBean";
+
+	/**
+	 * The simple name of the nested MXBean implementation
+	 */
+	private static final String METRICS_TYPE = "Metrics";
+
+	/**
+	 * Default constructor
+	 */
+	private FieldMetrics() {
+	}
+
+	/**
+	 * Adds the counters, the MXBean and its registration to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ClassName mimicType, List<FieldAdapter<?>> fields) {
+		for (FieldAdapter<?> f : fields) {
+			typeBuilder.addField(counter(gets(f)));
+			typeBuilder.addField(counter(sets(f)));
+		}
+
+		TypeName mapType = ParameterizedTypeName.get(Map.class, String.class, Long.class);
+		TypeSpec.Builder mxBean = TypeSpec.interfaceBuilder(MXBEAN_TYPE).addModifiers(Modifier.PUBLIC)
+				.addMethod(MethodSpec.methodBuilder("getGets").addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+						.returns(mapType).build())
+				.addMethod(MethodSpec.methodBuilder("getSets").addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+						.returns(mapType).build())
+				.addMethod(MethodSpec.methodBuilder("reset").addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+						.build());
+		typeBuilder.addType(mxBean.build());
+
+		MethodSpec.Builder getGets = MethodSpec.methodBuilder("getGets").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(mapType)
+				.addStatement("$T gets = new $T<>()", mapType, LinkedHashMap.class);
+		MethodSpec.Builder getSets = MethodSpec.methodBuilder("getSets").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(mapType)
+				.addStatement("$T sets = new $T<>()", mapType, LinkedHashMap.class);
+		MethodSpec.Builder reset = MethodSpec.methodBuilder("reset").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC);
+		for (FieldAdapter<?> f : fields) {
+			getGets.addStatement("gets.put($S, $L.sum())", f.getName(), gets(f));
+			getSets.addStatement("sets.put($S, $L.sum())", f.getName(), sets(f));
+			reset.addStatement("$L.reset()", gets(f)).addStatement("$L.reset()", sets(f));
+		}
+		ClassName mxBeanType = mimicType.nestedClass(MXBEAN_TYPE);
+		typeBuilder.addType(TypeSpec.classBuilder(METRICS_TYPE)
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).addSuperinterface(mxBeanType)
+				.addMethod(getGets.addStatement("return gets").build())
+				.addMethod(getSets.addStatement("return sets").build()).addMethod(reset.build()).build());
+
+		typeBuilder.addField(FieldSpec
+				.builder(mxBeanType, "METRICS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer("new $T()", mimicType.nestedClass(METRICS_TYPE)).build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("getMetrics").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(mxBeanType).addStatement("return METRICS").build());
+		typeBuilder.addStaticBlock(CodeBlock.builder().beginControlFlow("try")
+				.addStatement("$T server = $T.getPlatformMBeanServer()", MBeanServer.class, ManagementFactory.class)
+				.addStatement("$T name = new $T($S + $T.class.getName())", ObjectName.class, ObjectName.class,
+						DOMAIN + ":type=Mimic,name=", mimicType)
+				.beginControlFlow("if (server.isRegistered(name))")
+				.addStatement("name = new $T(name + $S + $T.toHexString($T.identityHashCode($T.class.getClassLoader())))",
+						ObjectName.class, ",loader=", Integer.class, System.class, mimicType)
+				.endControlFlow().addStatement("server.registerMBean(METRICS, name)")
+				.nextControlFlow("catch ($T e)", JMException.class)
+				.addStatement("$T.getLogger($T.class.getName()).log($T.Level.WARNING, $S, e)", System.class, mimicType,
+						System.Logger.class, "Could not register the metrics MXBean")
+				.endControlFlow().build());
+	}
+
+	/**
+	 * Returns the name of the counter of gets of a field
+	 *
+	 * @param f The field
+	 * @return The name of the counter
+	 */
+	static String gets(FieldAdapter<?> f) {
+		return Handles.constantCase(f.getName()) + "_GETS";
+	}
+
+	/**
+	 * Returns the name of the counter of sets of a field
+	 *
+	 * @param f The field
+	 * @return The name of the counter
+	 */
+	static String sets(FieldAdapter<?> f) {
+		return Handles.constantCase(f.getName()) + "_SETS";
+	}
+
+	/**
+	 * Creates a counter constant
+	 *
+	 * @param name The name of the counter
+	 * @return The {@code FieldSpec} for the counter
+	 */
+	private static FieldSpec counter(String name) {
+		return FieldSpec.builder(LongAdder.class, name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer("new $T()", LongAdder.class).build();
+	}
+}
@@ -0,0 +1,71 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the nested {@code Fields} enum of a Mimic with a constant for each
+ * non-constant field, used by features to address fields.
+ */
+class FieldsType {
+
+	/**
+	 * The simple name of the nested enum
+	 */
+	static final String FIELDS_TYPE = "Fields";
+
+	/**
+	 * Default constructor
+	 */
+	private FieldsType() {
+	}
+
+	/**
+	 * The features using the {@code Fields} enum
+	 */
+	private static final Set<MimicFeature> FEATURES = EnumSet.of(MimicFeature.COPY,
+			MimicFeature.DIRTY_TRACKING, MimicFeature.STATE_EQUALITY);
+
+	/**
+	 * Returns if any enabled feature uses the {@code Fields} enum
+	 *
+	 * @param options The options to customize the Mimic
+	 * @return If the {@code Fields} enum is required
+	 */
+	static boolean isRequired(MimicOptions options) {
+		return options.getFeatures().stream().anyMatch(FEATURES::contains);
+	}
+
+	/**
+	 * Adds the {@code Fields} enum to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @return The name of the enum
+	 */
+	static ClassName addTo(TypeSpec.Builder typeBuilder, ClassName mimicType, List<FieldAdapter<?>> fields) {
+		TypeSpec.Builder enumBuilder = TypeSpec.enumBuilder(FIELDS_TYPE).addModifiers(Modifier.PUBLIC);
+		for (FieldAdapter<?> f : fields) {
+			enumBuilder.addEnumConstant(constant(f));
+		}
+		typeBuilder.addType(enumBuilder.build());
+		return mimicType.nestedClass(FIELDS_TYPE);
+	}
+
+	/**
+	 * Returns the name of the enum constant for the given field
+	 *
+	 * @param f The field
+	 * @return The name of the constant
+	 */
+	static String constant(FieldAdapter<?> f) {
+		return Handles.constantCase(f.getName());
+	}
+}
@@ -0,0 +1,244 @@
+package dev.bodewig.mimic.generator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Collects the handles used by a Mimic and declares them as
+ * {@code static final} constants, resolved once in a static initializer.
+ */
+class Handles {
+
+	/**
+	 * The declared handle constants by name
+	 */
+	private final Map<String, FieldSpec> fields = new LinkedHashMap<>();
+
+	/**
+	 * The initializer statements by constant name
+	 */
+	private final Map<String, CodeBlock> initializers = new LinkedHashMap<>();
+
+	/**
+	 * The names of the field constants by declaring class, field name and kind
+	 */
+	private final Map<String, String> fieldConstants = new HashMap<>();
+
+	/**
+	 * The names of the method and constructor handle constants by signature
+	 */
+	private final Map<String, String> methods = new LinkedHashMap<>();
+
+	/**
+	 * If a registered constant is resolved with a lookup that may throw an
+	 * {@link IllegalAccessException}
+	 */
+	private boolean lookups;
+
+	/**
+	 * Default constructor
+	 */
+	Handles() {
+	}
+
+	/**
+	 * Returns the name of a {@link VarHandle} constant for the given field and
+	 * registers it if necessary
+	 *
+	 * @param f The field to create a {@code VarHandle} for
+	 * @return The name of the constant
+	 */
+	String varHandle(FieldAdapter<?> f) {
+		return fieldConstant(f, "HANDLE", TypeName.get(VarHandle.class), name -> {
+			String find = f.isStatic() ? "findStaticVarHandle" : "findVarHandle";
+			lookups = true;
+			return CodeBlock.builder().addStatement("$L = $L.$L($T.class, $S, $T.class)", name, lookup(f), find,
+					f.getDeclaringClass(), f.getName(), f.getRawType()).build();
+		});
+	}
+
+	/**
+	 * Returns the name of an accessible {@link Field} constant for the given field
+	 * and registers it if necessary
+	 *
+	 * @param f The field to reflect
+	 * @return The name of the constant
+	 */
+	String field(FieldAdapter<?> f) {
+		return fieldConstant(f, "FIELD", TypeName.get(Field.class),
+				name -> CodeBlock.builder()
+						.addStatement("$L = $T.class.getDeclaredField($S)", name, f.getDeclaringClass(), f.getName())
+						.addStatement("$L.setAccessible(true)", name).build());
+	}
+
+	/**
+	 * Returns the name of a setter {@link MethodHandle} constant for the given
+	 * field and registers it if necessary.
+	 * <p>
+	 * Unlike a {@link VarHandle}, the setter can write {@code final} fields.
+	 *
+	 * @param f The field to create a setter for
+	 * @return The name of the constant
+	 */
+	String setter(FieldAdapter<?> f) {
+		String field = field(f);
+		return fieldConstant(f, "SETTER", TypeName.get(MethodHandle.class), name -> {
+			lookups = true;
+			return CodeBlock.builder()
+					.addStatement("$L = $T.lookup().unreflectSetter($L)", name, MethodHandles.class, field).build();
+		});
+	}
+
+	/**
+	 * Returns the name of a constant of the given kind for a field and registers
+	 * it if necessary. Constants are keyed by the declaring class and the name of
+	 * the field, so a field shadowing a superclass field or a name with the same
+	 * constant case, e.g. {@code fooBar} and {@code foo_bar}, gets a numbered
+	 * suffix instead of reusing another field's constant.
+	 *
+	 * @param f           The field of the constant
+	 * @param kind        The suffix of the constant name
+	 * @param type        The type of the constant
+	 * @param initializer Creates the initializer statements for the constant name
+	 * @return The name of the constant
+	 */
+	private String fieldConstant(FieldAdapter<?> f, String kind, TypeName type,
+			Function<String, CodeBlock> initializer) {
+		String key = f.getDeclaringClass() + "#" + f.getName() + "#" + kind;
+		String existing = fieldConstants.get(key);
+		if (existing != null) {
+			return existing;
+		}
+		String base = constantCase(f.getName()) + "_" + kind;
+		String name = base;
+		for (int i = 1; fields.containsKey(name); i++) {
+			name = base + "_" + i;
+		}
+		register(name, type, initializer.apply(name));
+		fieldConstants.put(key, name);
+		return name;
+	}
+
+	/**
+	 * Returns the name of a {@link MethodHandle} constant for the given method or
+	 * constructor and registers it if necessary. Overloads get a numbered suffix.
+	 *
+	 * @param m The method to create a {@code MethodHandle} for
+	 * @return The name of the constant
+	 */
+	String method(MethodAdapter<?> m) {
+		String existing = methods.get(m.getSignature());
+		if (existing != null) {
+			return existing;
+		}
+		String base = m.isConstructor() ? "CONSTRUCTOR" : constantCase(m.getName()) + "_METHOD";
+		String name = base;
+		for (int i = 1; fields.containsKey(name); i++) {
+			name = base + "_" + i;
+		}
+		CodeBlock.Builder type = CodeBlock.builder().add("$T.methodType($T.class", MethodType.class,
+				m.getReturnType());
+		m.getParameterTypes().forEach(p -> type.add(", $T.class", p));
+		type.add(")");
+		CodeBlock find;
+		if (m.isConstructor()) {
+			find = CodeBlock.of("findConstructor($T.class, $L)", m.getDeclaringClass(), type.build());
+		} else {
+			find = CodeBlock.of("$L($T.class, $S, $L)", m.isStatic() ? "findStatic" : "findVirtual",
+					m.getDeclaringClass(), m.getName(), type.build());
+		}
+		register(name, TypeName.get(MethodHandle.class), CodeBlock.builder()
+				.addStatement("$L = $L.$L", name, lookup(m.getDeclaringClass()), find).build());
+		lookups = true;
+		methods.put(m.getSignature(), name);
+		return name;
+	}
+
+	/**
+	 * Adds all registered constants and their static initializer to the type
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 */
+	void addTo(TypeSpec.Builder typeBuilder) {
+		if (fields.isEmpty()) {
+			return;
+		}
+		fields.values().forEach(typeBuilder::addField);
+		CodeBlock.Builder staticBlock = CodeBlock.builder().beginControlFlow("try");
+		initializers.values().forEach(staticBlock::add);
+		List<CodeBlock> exceptions = new ArrayList<>();
+		if (fields.size() > methods.size()) {
+			exceptions.add(CodeBlock.of("$T", NoSuchFieldException.class));
+		}
+		if (!methods.isEmpty()) {
+			exceptions.add(CodeBlock.of("$T", NoSuchMethodException.class));
+		}
+		if (lookups) {
+			exceptions.add(CodeBlock.of("$T", IllegalAccessException.class));
+		}
+		staticBlock.nextControlFlow("catch ($L e)", CodeBlock.join(exceptions, " | "))
+				.addStatement("throw new $T(e)", ExceptionInInitializerError.class).endControlFlow();
+		typeBuilder.addStaticBlock(staticBlock.build());
+	}
+
+	/**
+	 * Registers a new constant
+	 *
+	 * @param name        The name of the constant
+	 * @param type        The type of the constant
+	 * @param initializer The statements to initialize the constant
+	 */
+	private void register(String name, TypeName type, CodeBlock initializer) {
+		fields.put(name, FieldSpec.builder(type, name, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL).build());
+		initializers.put(name, initializer);
+	}
+
+	/**
+	 * Creates an expression for a private lookup in the class declaring the field
+	 *
+	 * @param f The field to look up
+	 * @return The lookup expression
+	 */
+	private static CodeBlock lookup(FieldAdapter<?> f) {
+		return lookup(f.getDeclaringClass());
+	}
+
+	/**
+	 * Creates an expression for a private lookup in the given class
+	 *
+	 * @param declaringClass The class declaring the member to look up, any type
+	 *                       accepted by {@code $T}
+	 * @return The lookup expression
+	 */
+	private static CodeBlock lookup(Object declaringClass) {
+		return CodeBlock.of("$T.privateLookupIn($T.class, $T.lookup())", MethodHandles.class, declaringClass,
+				MethodHandles.class);
+	}
+
+	/**
+	 * Creates a constant case string by separating camel case words with an
+	 * underscore and converting all characters to upper case.
+	 *
+	 * @param s The string to convert
+	 * @return The constant case string
+	 */
+	static String constantCase(String s) {
+		return s.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+	}
+}
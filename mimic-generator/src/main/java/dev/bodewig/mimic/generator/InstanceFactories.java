@@ -0,0 +1,120 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#FACTORIES}: a static
+ * {@code newInstance} factory for each constructor of the model and a bulk
+ * {@code newInstances} factory if the model has a no-args constructor.
+ * <p>
+ * Non-public constructors are called through {@code static final}
+ * {@link java.lang.invoke.MethodHandle}s with {@code invokeExact} instead of
+ * {@link java.lang.reflect.Constructor#newInstance(Object...)}.
+ */
+class InstanceFactories {
+
+	/**
+	 * The name of the private factory calling the no-args constructor
+	 */
+	static final String ALLOCATOR = "allocate";
+
+	/**
+	 * Default constructor
+	 */
+	private InstanceFactories() {
+	}
+
+	/**
+	 * Adds the factories for all constructors of the model to the Mimic. Abstract
+	 * models get no factories.
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, Handles handles) {
+		if (model.isAbstract()) {
+			return;
+		}
+		for (MethodAdapter<?> c : model.getConstructors()) {
+			typeBuilder.addMethod(createFactory("newInstance", Modifier.PUBLIC, model, c, handles));
+			if (c.getParameterTypes().isEmpty()) {
+				typeBuilder.addMethod(createBulkFactory(model));
+			}
+		}
+	}
+
+	/**
+	 * Adds a private static {@code allocate()} method calling the no-args
+	 * constructor, unless it already exists
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param handles     The handles of the Mimic
+	 * @return If the method exists, {@code false} if the model is abstract or has
+	 *         no no-args constructor
+	 */
+	static boolean addAllocator(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, Handles handles) {
+		if (typeBuilder.methodSpecs.stream().anyMatch(m -> m.name.equals(ALLOCATOR))) {
+			return true;
+		}
+		if (!MimicGenerator.canAllocate(model)) {
+			return false;
+		}
+		MethodAdapter<?> noArgs = model.getConstructors().stream().filter(c -> c.getParameterTypes().isEmpty())
+				.findFirst().get();
+		typeBuilder.addMethod(createFactory(ALLOCATOR, Modifier.PRIVATE, model, noArgs, handles));
+		return true;
+	}
+
+	/**
+	 * Creates a static factory calling a constructor
+	 *
+	 * @param name       The name of the factory
+	 * @param visibility The visibility modifier of the factory
+	 * @param model      The model of the Mimic
+	 * @param c          The constructor to call
+	 * @param handles    The handles of the Mimic
+	 * @return The {@code MethodSpec} for the factory
+	 */
+	static MethodSpec createFactory(String name, Modifier visibility, ModelAdapter<?> model, MethodAdapter<?> c,
+			Handles handles) {
+		MethodSpec.Builder factory = MethodSpec.methodBuilder(name).addModifiers(visibility, Modifier.STATIC)
+				.returns(model.getTypeName());
+		CodeBlock.Builder args = CodeBlock.builder();
+		List<TypeName> parameterTypes = c.getParameterTypes();
+		for (int i = 0; i < parameterTypes.size(); i++) {
+			factory.addParameter(parameterTypes.get(i), "arg" + i);
+			args.add(i == 0 ? "$L" : ", $L", "arg" + i);
+		}
+		if (c.isPublic()) {
+			return factory.addStatement("return new $T($L)", model.getTypeName(), args.build()).build();
+		}
+		MethodInvokers.addInvokeExact(factory, CodeBlock.of("return ($T) $L.invokeExact($L)",
+				model.getTypeName(), handles.method(c), args.build()));
+		return factory.build();
+	}
+
+	/**
+	 * Creates the bulk factory calling the no-args constructor
+	 *
+	 * @param model The model of the Mimic
+	 * @return The {@code MethodSpec} for the bulk factory
+	 */
+	private static MethodSpec createBulkFactory(ModelAdapter<?> model) {
+		TypeName arrayType = ArrayTypeName.of(model.getTypeName());
+		return MethodSpec.methodBuilder("newInstances").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(arrayType).addParameter(TypeName.INT, "n")
+				.addStatement("$T instances = new $T[n]", arrayType, model.getTypeName())
+				.beginControlFlow("for (int i = 0; i < n; i++)").addStatement("instances[i] = newInstance()")
+				.endControlFlow().addStatement("return instances").build();
+	}
+}
@@ -0,0 +1,307 @@
+package dev.bodewig.mimic.generator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+/**
+ * Adapter to delegate operations to a {@link MethodMethodAdapter},
+ * {@link ExecutableMethodAdapter} or {@link ClassFileMethodAdapter}
+ * <p>
+ * All types are erased, since a {@link java.lang.invoke.MethodHandle} is
+ * invoked with the erased signature.
+ *
+ * @param <T> The return type of {@link #getDeclaringClass()}
+ */
+public interface MethodAdapter<T> {
+
+	/**
+	 * Returns the method's name, {@code <init>} for constructors
+	 *
+	 * @return The method's name
+	 */
+	String getName();
+
+	/**
+	 * Returns the {@link TypeName} of the erasure of the method's return type,
+	 * {@code void} for constructors
+	 *
+	 * @return The method's raw return type
+	 */
+	TypeName getReturnType();
+
+	/**
+	 * Returns the {@link TypeName}s of the erasures of the method's parameter types
+	 *
+	 * @return The method's raw parameter types
+	 */
+	List<TypeName> getParameterTypes();
+
+	/**
+	 * Returns if the method is public
+	 *
+	 * @return If the method is public
+	 */
+	boolean isPublic();
+
+	/**
+	 * Returns if the method is static
+	 *
+	 * @return If the method is static
+	 */
+	boolean isStatic();
+
+	/**
+	 * Returns the class declaring the method
+	 *
+	 * @return The declaring class
+	 */
+	T getDeclaringClass();
+
+	/**
+	 * Returns the name and parameter types of the method, which identify it
+	 * between overloads and overrides
+	 *
+	 * @return The signature, e.g. {@code compute(int,java.lang.String)}
+	 */
+	default String getSignature() {
+		return getName() + getParameterTypes().stream().map(TypeName::toString)
+				.collect(Collectors.joining(",", "(", ")"));
+	}
+
+	/**
+	 * Returns if this is a constructor
+	 *
+	 * @return If this is a constructor
+	 */
+	default boolean isConstructor() {
+		return getName().equals("<init>");
+	}
+
+	/**
+	 * Static initializer for a {@link Method} or {@link Constructor} instance
+	 *
+	 * @param method The {@code Method} or {@code Constructor} instance
+	 * @return A {@code MethodAdapter} with the {@code method} instance
+	 */
+	static MethodAdapter<Class<?>> from(Executable method) {
+		return new MethodMethodAdapter(method);
+	}
+
+	/**
+	 * Static initializer for an {@link ExecutableElement} instance
+	 *
+	 * @param executable The {@code ExecutableElement} instance
+	 * @return A {@code MethodAdapter} with the {@code executable} instance
+	 */
+	static MethodAdapter<Element> from(ExecutableElement executable) {
+		return new ExecutableMethodAdapter(executable);
+	}
+
+	/**
+	 * Static initializer for a method read from a class file
+	 *
+	 * @param declaringClass The class declaring the method
+	 * @param method         The method read from the class file
+	 * @return A {@code MethodAdapter} with the {@code method} instance
+	 */
+	static MethodAdapter<ClassName> from(ClassName declaringClass, ClassFile.MethodInfo method) {
+		return new ClassFileMethodAdapter(declaringClass, method);
+	}
+
+	/**
+	 * {@link MethodAdapter} for a {@link Method} or {@link Constructor} instance
+	 */
+	class MethodMethodAdapter implements MethodAdapter<Class<?>> {
+
+		/**
+		 * The {@code Method} or {@code Constructor} instance
+		 */
+		protected final Executable method;
+
+		/**
+		 * Constructor with a {@code Method} or {@code Constructor} instance
+		 *
+		 * @param method The {@code Method} or {@code Constructor} instance
+		 */
+		public MethodMethodAdapter(Executable method) {
+			this.method = method;
+		}
+
+		@Override
+		public String getName() {
+			return method instanceof Constructor ? "<init>" : method.getName();
+		}
+
+		@Override
+		public TypeName getReturnType() {
+			return method instanceof Method m ? TypeName.get(m.getReturnType()) : TypeName.VOID;
+		}
+
+		@Override
+		public List<TypeName> getParameterTypes() {
+			return Arrays.stream(method.getParameterTypes()).map(TypeName::get).collect(Collectors.toList());
+		}
+
+		@Override
+		public boolean isPublic() {
+			return Modifier.isPublic(method.getModifiers());
+		}
+
+		@Override
+		public boolean isStatic() {
+			return Modifier.isStatic(method.getModifiers());
+		}
+
+		@Override
+		public Class<?> getDeclaringClass() {
+			return method.getDeclaringClass();
+		}
+
+		@Override
+		public String toString() {
+			return "MethodMethodAdapter(" + getSignature() + ")";
+		}
+	}
+
+	/**
+	 * {@link MethodAdapter} for an {@link ExecutableElement} instance
+	 */
+	class ExecutableMethodAdapter implements MethodAdapter<Element> {
+
+		/**
+		 * The {@code ExecutableElement} instance
+		 */
+		protected final ExecutableElement executable;
+
+		/**
+		 * Constructor with an {@code ExecutableElement} instance
+		 *
+		 * @param executable The {@code ExecutableElement} instance
+		 */
+		public ExecutableMethodAdapter(ExecutableElement executable) {
+			this.executable = executable;
+		}
+
+		@Override
+		public String getName() {
+			return executable.getSimpleName().toString();
+		}
+
+		@Override
+		public TypeName getReturnType() {
+			return FieldAdapter.VariableFieldAdapter.erasure(executable.getReturnType());
+		}
+
+		@Override
+		public List<TypeName> getParameterTypes() {
+			return executable.getParameters().stream()
+					.map(p -> FieldAdapter.VariableFieldAdapter.erasure(p.asType())).collect(Collectors.toList());
+		}
+
+		@Override
+		public boolean isPublic() {
+			return executable.getModifiers().contains(javax.lang.model.element.Modifier.PUBLIC);
+		}
+
+		@Override
+		public boolean isStatic() {
+			return executable.getModifiers().contains(javax.lang.model.element.Modifier.STATIC);
+		}
+
+		@Override
+		public Element getDeclaringClass() {
+			return executable.getEnclosingElement();
+		}
+
+		@Override
+		public String toString() {
+			return "ExecutableMethodAdapter(" + getSignature() + ")";
+		}
+	}
+
+	/**
+	 * {@link MethodAdapter} for a {@link ClassFile.MethodInfo} instance
+	 */
+	class ClassFileMethodAdapter implements MethodAdapter<ClassName> {
+
+		/**
+		 * The class declaring the method
+		 */
+		protected final ClassName declaringClass;
+
+		/**
+		 * The {@code MethodInfo} instance
+		 */
+		protected final ClassFile.MethodInfo method;
+
+		/**
+		 * Constructor with a {@code MethodInfo} instance
+		 *
+		 * @param declaringClass The class declaring the method
+		 * @param method         The {@code MethodInfo} instance
+		 */
+		public ClassFileMethodAdapter(ClassName declaringClass, ClassFile.MethodInfo method) {
+			this.declaringClass = declaringClass;
+			this.method = method;
+		}
+
+		@Override
+		public String getName() {
+			return method.name();
+		}
+
+		@Override
+		public TypeName getReturnType() {
+			String descriptor = method.descriptor();
+			return ClassFile.typeName(descriptor.substring(descriptor.indexOf(')') + 1));
+		}
+
+		@Override
+		public List<TypeName> getParameterTypes() {
+			List<TypeName> types = new ArrayList<>();
+			String descriptor = method.descriptor();
+			int i = 1;
+			while (descriptor.charAt(i) != ')') {
+				int start = i;
+				while (descriptor.charAt(i) == '[') {
+					i++;
+				}
+				i = descriptor.charAt(i) == 'L' ? descriptor.indexOf(';', i) + 1 : i + 1;
+				types.add(ClassFile.typeName(descriptor.substring(start, i)));
+			}
+			return types;
+		}
+
+		@Override
+		public boolean isPublic() {
+			return Modifier.isPublic(method.access());
+		}
+
+		@Override
+		public boolean isStatic() {
+			return Modifier.isStatic(method.access());
+		}
+
+		@Override
+		public ClassName getDeclaringClass() {
+			return declaringClass;
+		}
+
+		@Override
+		public String toString() {
+			return "ClassFileMethodAdapter(" + getSignature() + ")";
+		}
+	}
+}
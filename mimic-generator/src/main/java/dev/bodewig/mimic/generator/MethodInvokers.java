@@ -0,0 +1,90 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#METHODS}: typed invokers for the
+ * non-public methods of the model, backed by {@code static final}
+ * {@link java.lang.invoke.MethodHandle}s called with {@code invokeExact}.
+ */
+class MethodInvokers {
+
+	/**
+	 * Default constructor
+	 */
+	private MethodInvokers() {
+	}
+
+	/**
+	 * Adds an invoker for each non-public method of the model. Overloads get
+	 * overloaded invokers, of overridden methods only the most specific one is
+	 * used.
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, Handles handles) {
+		Map<String, MethodAdapter<?>> methods = new LinkedHashMap<>();
+		for (MethodAdapter<?> m : model.getMethods()) {
+			methods.put(m.getSignature(), m);
+		}
+		methods.values().stream().filter(m -> !m.isPublic()).forEach(m -> typeBuilder.addMethod(createInvoker(m,
+				handles)));
+	}
+
+	/**
+	 * Creates the invoker of a method
+	 *
+	 * @param m       The method to invoke
+	 * @param handles The handles of the Mimic
+	 * @return The {@code MethodSpec} for the invoker
+	 */
+	private static MethodSpec createInvoker(MethodAdapter<?> m, Handles handles) {
+		MethodSpec.Builder invoker = MethodSpec.methodBuilder("invoke" + MimicGenerator.pascalCase(m.getName()))
+				.addModifiers(Modifier.PUBLIC).returns(m.getReturnType());
+		CodeBlock.Builder args = CodeBlock.builder();
+		if (m.isStatic()) {
+			invoker.addModifiers(Modifier.STATIC);
+		} else {
+			args.add("($T) instance", m.getDeclaringClass());
+		}
+		List<TypeName> parameterTypes = m.getParameterTypes();
+		for (int i = 0; i < parameterTypes.size(); i++) {
+			invoker.addParameter(parameterTypes.get(i), "arg" + i);
+			args.add(m.isStatic() && i == 0 ? "$L" : ", $L", "arg" + i);
+		}
+		String handle = handles.method(m);
+		if (m.getReturnType().equals(TypeName.VOID)) {
+			addInvokeExact(invoker, CodeBlock.of("$L.invokeExact($L)", handle, args.build()));
+		} else {
+			addInvokeExact(invoker,
+					CodeBlock.of("return ($T) $L.invokeExact($L)", m.getReturnType(), handle, args.build()));
+		}
+		return invoker.build();
+	}
+
+	/**
+	 * Adds a statement calling {@code invokeExact} to a method. Unchecked
+	 * exceptions are rethrown, checked exceptions are wrapped in a
+	 * {@link RuntimeException}.
+	 *
+	 * @param method    The builder of the method
+	 * @param statement The statement calling {@code invokeExact}
+	 */
+	static void addInvokeExact(MethodSpec.Builder method, CodeBlock statement) {
+		method.beginControlFlow("try").addStatement(statement)
+				.nextControlFlow("catch ($T | $T e)", RuntimeException.class, Error.class).addStatement("throw e")
+				.nextControlFlow("catch ($T e)", Throwable.class)
+				.addStatement("throw new $T(e)", RuntimeException.class).endControlFlow();
+	}
+}
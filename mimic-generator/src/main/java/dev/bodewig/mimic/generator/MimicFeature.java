@@ -0,0 +1,109 @@
+package dev.bodewig.mimic.generator;
+
+/**
+ * Optional features of a Mimic in addition to the getters and setters
+ */
+public enum MimicFeature {
+
+	/**
+	 * Atomic ({@code compareAndSet}, {@code getAndSet}, {@code getAndAdd}) and
+	 * memory-ordered ({@code volatile}, {@code acquire/release}, {@code opaque})
+	 * accessors for each field
+	 */
+	ATOMICS,
+
+	/**
+	 * A {@code snapshot()} method reading all instance fields into an immutable
+	 * {@code Snapshot} and a matching {@code restore(Snapshot)} method
+	 */
+	SNAPSHOT,
+
+	/**
+	 * {@code copyFrom} and {@code copyTo} methods copying all or a subset of the
+	 * non-final instance fields between the wrapped and another instance
+	 */
+	COPY,
+
+	/**
+	 * Static getters and setters taking the instance as first parameter, so no
+	 * Mimic has to be allocated
+	 */
+	STATIC_ACCESSORS,
+
+	/**
+	 * A reusable Mimic with a {@code bind} method to rebind it to another instance
+	 */
+	FLYWEIGHT,
+
+	/**
+	 * Static {@code gatherX} and {@code scatterX} methods reading a field of all
+	 * elements of a {@code List} or array into an array and writing it back,
+	 * optionally in parallel
+	 */
+	BULK,
+
+	/**
+	 * Static read-only getters for {@code static final} constants, which are
+	 * skipped otherwise
+	 */
+	CONSTANTS,
+
+	/**
+	 * Typed {@code invokeX} methods for the non-public methods, including
+	 * inherited ones, backed by cached {@code MethodHandle}s
+	 */
+	METHODS,
+
+	/**
+	 * Static {@code newInstance} factories mirroring the constructors and a bulk
+	 * {@code newInstances(int)} factory, backed by cached {@code MethodHandle}s
+	 */
+	FACTORIES,
+
+	/**
+	 * Counters for the gets and sets of each field, published by a
+	 * {@code MetricsMXBean} in the platform {@code MBeanServer}
+	 */
+	METRICS,
+
+	/**
+	 * Setters, atomic writers, {@code restore} and {@code copyFrom} mark the
+	 * written instance fields as dirty in a bitset, queried by
+	 * {@code dirtyFields()}, {@code isDirty(Fields)} and
+	 * {@code visitDirty(BiConsumer)} and reset by {@code clearDirty()}
+	 */
+	DIRTY_TRACKING,
+
+	/**
+	 * Static {@code deepClone} methods copying an instance and recursing into
+	 * fields whose types have Mimics with this feature
+	 */
+	DEEP_CLONE,
+
+	/**
+	 * {@code writeTo(ByteBuffer)} and {@code readFrom(ByteBuffer)} methods encoding
+	 * primitives, strings, primitive arrays and fields whose types have Mimics with
+	 * this feature
+	 */
+	BINARY_CODEC,
+
+	/**
+	 * A nested {@code Store} type keeping the primitive and string fields of many
+	 * instances in off-heap columns
+	 */
+	OFF_HEAP_STORE,
+
+	/**
+	 * Static {@code stateEquals}, {@code stateHash}, {@code diff} and
+	 * {@code visitDiff} methods comparing all instance fields, including inherited
+	 * ones
+	 */
+	STATE_EQUALITY,
+
+	/**
+	 * {@code get} and {@code set} methods addressing the fields by index or name,
+	 * typed overloads for primitive fields and a static {@code FIELD_DESCRIPTORS}
+	 * table
+	 */
+	DYNAMIC_ACCESS
+}
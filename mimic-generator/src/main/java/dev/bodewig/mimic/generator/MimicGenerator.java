@@ -4,6 +4,18 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import javax.annotation.processing.Generated;
 import javax.lang.model.element.Element;
@@ -11,13 +23,22 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 /**
  * Use {@link #createMimicFromClass(Class, String, File)} to create a Mimic for
- * a given class in a configured package in the supplied output directory.
+ * a given class in a configured package in the supplied output directory or
+ * {@link #createMimicFromClassFile(ClassPath, String, String, MimicOptions, File)}
+ * to read the class from a class path without loading it.
+ * <p>
+ * Pass {@link MimicOptions} to select the {@link AccessorMode} used for
+ * non-public fields and to enable optional {@link MimicFeature}s.
  */
 public class MimicGenerator {
 
@@ -37,15 +58,35 @@ public class MimicGenerator {
 	 * @param clazz           The class to create a Mimic for
 	 * @param packageName     The target package for the generated Mimic
 	 * @param outputDirectory The output directory for the java class
+	 * @return {@code true} if the file was written, {@code false} if an identical
+	 *         file already exists
 	 * @throws IOException If writing the java class file to the output directory
 	 *                     fails
 	 */
-	public static void createMimicFromClass(Class<?> clazz, String packageName, File outputDirectory)
+	public static boolean createMimicFromClass(Class<?> clazz, String packageName, File outputDirectory)
 			throws IOException {
+		return createMimicFromClass(clazz, packageName, MimicOptions.DEFAULT, outputDirectory);
+	}
+
+	/**
+	 * Creates a Mimic for the given class in a the given package with the given
+	 * options in the given output directory.
+	 *
+	 * @param clazz           The class to create a Mimic for
+	 * @param packageName     The target package for the generated Mimic
+	 * @param options         The options to customize the Mimic
+	 * @param outputDirectory The output directory for the java class
+	 * @return {@code true} if the file was written, {@code false} if an identical
+	 *         file already exists
+	 * @throws IOException If writing the java class file to the output directory
+	 *                     fails
+	 */
+	public static boolean createMimicFromClass(Class<?> clazz, String packageName, MimicOptions options,
+			File outputDirectory) throws IOException {
 		ModelAdapter<Class<?>> model = ModelAdapter.fromClass(clazz);
-		TypeSpec spec = createMimicType(model);
+		TypeSpec spec = createMimicType(model, packageName, options);
 		JavaFile javaFile = JavaFile.builder(packageName, spec).build();
-		javaFile.writeTo(outputDirectory);
+		return writeIfChanged(javaFile, outputDirectory);
 	}
 
 	/**
@@ -62,12 +103,78 @@ public class MimicGenerator {
 	 *                     fails
 	 */
 	public static void createMimicFromType(TypeElement type, String packageName, Writer outputFile) throws IOException {
+		createMimicFromType(type, packageName, MimicOptions.DEFAULT, outputFile);
+	}
+
+	/**
+	 * Creates a Mimic for the given type in a given package with the given options
+	 * and writes to the given output file.
+	 *
+	 * @param type        The type to create a Mimic for
+	 * @param packageName The target package for the generated Mimic
+	 * @param options     The options to customize the Mimic
+	 * @param outputFile  The output file to the java class
+	 * @throws IOException If writing the java class file to the output directory
+	 *                     fails
+	 */
+	public static void createMimicFromType(TypeElement type, String packageName, MimicOptions options,
+			Writer outputFile) throws IOException {
 		ModelAdapter<Element> model = ModelAdapter.fromType(type);
-		TypeSpec spec = createMimicType(model);
+		TypeSpec spec = createMimicType(model, packageName, options);
 		JavaFile javaFile = JavaFile.builder(packageName, spec).build();
 		javaFile.writeTo(outputFile);
 	}
 
+	/**
+	 * Creates a Mimic for the class with the given name, read from the class path
+	 * without loading it, in the given package with the given options in the given
+	 * output directory.
+	 *
+	 * @param classPath       The class path to read the class and its superclasses
+	 *                        from
+	 * @param className       The binary name of the class to create a Mimic for
+	 * @param packageName     The target package for the generated Mimic
+	 * @param options         The options to customize the Mimic
+	 * @param outputDirectory The output directory for the java class
+	 * @return {@code true} if the file was written, {@code false} if an identical
+	 *         file already exists
+	 * @throws IOException If reading a class file or writing the java class file
+	 *                     to the output directory fails
+	 */
+	public static boolean createMimicFromClassFile(ClassPath classPath, String className, String packageName,
+			MimicOptions options, File outputDirectory) throws IOException {
+		ModelAdapter<ClassName> model = ModelAdapter.fromClassFile(classPath, className);
+		TypeSpec spec = createMimicType(model, packageName, options);
+		JavaFile javaFile = JavaFile.builder(packageName, spec).build();
+		return writeIfChanged(javaFile, outputDirectory);
+	}
+
+	/**
+	 * Writes the java file to the output directory unless an identical file
+	 * already exists, so its timestamp is kept and it is not recompiled.
+	 *
+	 * @param javaFile        The java file to write
+	 * @param outputDirectory The output directory for the java class
+	 * @return {@code true} if the file was written
+	 * @throws IOException If reading or writing the file fails
+	 */
+	private static boolean writeIfChanged(JavaFile javaFile, File outputDirectory) throws IOException {
+		Path file = outputDirectory.toPath();
+		if (!javaFile.packageName.isEmpty()) {
+			for (String part : javaFile.packageName.split("\\.")) {
+				file = file.resolve(part);
+			}
+		}
+		file = file.resolve(javaFile.typeSpec.name + ".java");
+		byte[] content = javaFile.toString().getBytes(StandardCharsets.UTF_8);
+		if (Files.isRegularFile(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+			return false;
+		}
+		Files.createDirectories(file.getParent());
+		Files.write(file, content);
+		return true;
+	}
+
 	/**
 	 * Builds a qualified class name for the Mimic
 	 *
@@ -79,6 +186,115 @@ public class MimicGenerator {
 		return pkg + "." + buildSimpleMimicName(simpleName);
 	}
 
+	/**
+	 * Checks if any of the features delegates to the Mimics of other classes, see
+	 * {@link MimicOptions#getMimics()}
+	 *
+	 * @param features The enabled features
+	 * @return If {@link MimicFeature#DEEP_CLONE} or
+	 *         {@link MimicFeature#BINARY_CODEC} is enabled
+	 */
+	public static boolean delegatesToMimics(Set<MimicFeature> features) {
+		return features.contains(MimicFeature.DEEP_CLONE) || features.contains(MimicFeature.BINARY_CODEC);
+	}
+
+	/**
+	 * Builds the qualified names of the Mimics of the given classes, to be passed
+	 * as {@link MimicOptions#getMimics()}
+	 *
+	 * @param classNames The binary names of the classes
+	 * @param pkg        The package for the Mimics
+	 * @return The qualified Mimic names by the canonical name of the class
+	 */
+	public static Map<String, String> buildMimicNames(Collection<String> classNames, String pkg) {
+		Map<String, String> mimics = new TreeMap<>();
+		for (String className : classNames) {
+			ClassName name = ClassFile.className(className);
+			mimics.put(name.canonicalName(), buildQualifiedMimicName(pkg, name.simpleName()));
+		}
+		return mimics;
+	}
+
+	/**
+	 * Checks if the Mimic of a class can allocate instances, i.e. the class is not
+	 * abstract and has a no-args constructor of any visibility
+	 *
+	 * @param model The model of the class
+	 * @return If the Mimic can allocate instances, e.g. in
+	 *         {@code decode(ByteBuffer)} of {@link MimicFeature#BINARY_CODEC}
+	 */
+	public static boolean canAllocate(ModelAdapter<?> model) {
+		return !model.isAbstract()
+				&& model.getConstructors().stream().anyMatch(c -> c.getParameterTypes().isEmpty());
+	}
+
+	/**
+	 * Finds the classes whose Mimics can allocate instances, to be passed to
+	 * {@link MimicOptions#MimicOptions(AccessorMode, Set, Map, Set)}
+	 *
+	 * @param classPath  The class path to read the class files from
+	 * @param classNames The binary names of the classes
+	 * @return The canonical names of the classes passing
+	 *         {@link #canAllocate(ModelAdapter)}
+	 * @throws IOException If a class file is not found or cannot be read
+	 */
+	public static Set<String> findAllocatable(ClassPath classPath, Collection<String> classNames)
+			throws IOException {
+		Set<String> allocatable = new TreeSet<>();
+		for (String className : classNames) {
+			if (canAllocate(ModelAdapter.fromClassFile(classPath, className))) {
+				allocatable.add(ClassFile.className(className).canonicalName());
+			}
+		}
+		return allocatable;
+	}
+
+	/**
+	 * Finds the instance fields the Mimic of a class cannot encode with
+	 * {@link MimicFeature#BINARY_CODEC}, e.g. enums, collections or object arrays.
+	 * These fields are skipped by {@code encode} and {@code decode}.
+	 *
+	 * @param model   The model of the class
+	 * @param options The options of the Mimic
+	 * @return The names of the skipped fields, empty if the feature is disabled
+	 */
+	public static List<String> findUnencodedFields(ModelAdapter<?> model, MimicOptions options) {
+		if (!options.hasFeature(MimicFeature.BINARY_CODEC)) {
+			return List.of();
+		}
+		List<FieldAdapter<?>> fields = model.getFields().stream().filter(f -> !f.isConstant())
+				.collect(Collectors.toList());
+		return BinaryCodec.skippedFields(model, fields, options);
+	}
+
+	/**
+	 * Returns the Mimics the created Mimic may delegate to, including itself
+	 *
+	 * @param model     The model of the Mimic
+	 * @param mimicType The name of the Mimic type
+	 * @param options   The options to customize the Mimic
+	 * @return The Mimic types by the canonical name of the mimicked class
+	 */
+	static Map<String, ClassName> mimicTypes(ModelAdapter<?> model, ClassName mimicType, MimicOptions options) {
+		Map<String, ClassName> mimics = new HashMap<>();
+		options.getMimics().forEach((className, mimic) -> {
+			int dot = mimic.lastIndexOf('.');
+			mimics.put(className, ClassName.get(mimic.substring(0, dot), mimic.substring(dot + 1)));
+		});
+		mimics.put(rawType(model.getTypeName()).toString(), mimicType);
+		return mimics;
+	}
+
+	/**
+	 * Returns the raw type of a possibly parameterized type
+	 *
+	 * @param type The type
+	 * @return The raw type
+	 */
+	static TypeName rawType(TypeName type) {
+		return type instanceof ParameterizedTypeName parameterized ? parameterized.rawType : type;
+	}
+
 	/**
 	 * Builds a simple class name for the Mimic
 	 *
@@ -95,85 +311,224 @@ public class MimicGenerator {
 	 * @param s The string to convert
 	 * @return The pascal case string
 	 */
-	private static String pascalCase(String s) {
+	static String pascalCase(String s) {
 		return s.substring(0, 1).toUpperCase() + s.substring(1);
 	}
 
 	/**
-	 * Creates a Mimic for the given class.
+	 * Creates an expression reading the field with its cached reflected
+	 * {@link Field}. Primitive fields are read with the matching primitive getter
+	 * to avoid boxing.
+	 *
+	 * @param f     The field to read
+	 * @param field The name of the {@code Field} constant
+	 * @return The read expression
+	 */
+	private static CodeBlock reflectiveGet(FieldAdapter<?> f, String field) {
+		if (f.getType().isPrimitive()) {
+			return CodeBlock.of("$L.get$L(instance)", field, pascalCase(f.getType().toString()));
+		}
+		return CodeBlock.of("($T) $L.get(instance)", f.getType(), field);
+	}
+
+	/**
+	 * Creates a statement writing {@code value} to the field with its cached
+	 * reflected {@link Field}. Primitive fields are written with the matching
+	 * primitive setter to avoid boxing.
+	 *
+	 * @param f     The field to write
+	 * @param field The name of the {@code Field} constant
+	 * @return The write statement
+	 */
+	private static CodeBlock reflectiveSet(FieldAdapter<?> f, String field) {
+		if (f.getType().isPrimitive()) {
+			return CodeBlock.of("$L.set$L(instance, value)", field, pascalCase(f.getType().toString()));
+		}
+		return CodeBlock.of("$L.set(instance, value)", field);
+	}
+
+	/**
+	 * Creates a Mimic for the given model.
 	 * <p>
 	 * The type contains an instance field, a constructor with a parameter to set
 	 * the instance and getters and setters for each field from the class.
 	 *
-	 * @param clazz The class to create a Mimic for
+	 * @param model       The model to create a Mimic for
+	 * @param packageName The target package for the generated Mimic
+	 * @param options     The options to customize the Mimic
 	 * @return The {@code TypeSpec} for the Mimic
 	 */
-	private static TypeSpec createMimicType(ModelAdapter<?> model) {
+	private static TypeSpec createMimicType(ModelAdapter<?> model, String packageName, MimicOptions options) {
 		String typeName = buildSimpleMimicName(model.getSimpleName());
 		TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(typeName).addModifiers(Modifier.PUBLIC)
 				.addAnnotation(AnnotationSpec.builder(Generated.class)
 						.addMember("value", "$S", MimicGenerator.class.getName()).build());
+		ClassName mimicType = ClassName.get(packageName, typeName);
+		Handles handles = new Handles();
+		List<FieldAdapter<?>> fields = model.getFields().stream().filter(f -> !f.isConstant())
+				.collect(Collectors.toList());
 
-		typeBuilder.addField(model.getTypeName(), "instance", Modifier.PRIVATE, Modifier.FINAL);
+		if (options.hasFeature(MimicFeature.FLYWEIGHT)) {
+			addFlyweight(typeBuilder, model, mimicType, options, fields);
+		} else {
+			typeBuilder.addField(model.getTypeName(), "instance", Modifier.PRIVATE, Modifier.FINAL);
+		}
 		MethodSpec constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC)
 				.addParameter(model.getTypeName(), "instance").addStatement("this.instance = instance").build();
 		typeBuilder.addMethod(constructor);
 
-		for (FieldAdapter<?> f : model.getFields()) {
-			if (!f.isConstant()) {
-				MethodSpec getter = createGetter(f);
-				MethodSpec setter = createSetter(f);
-				typeBuilder.addMethod(getter);
-				typeBuilder.addMethod(setter);
+		for (FieldAdapter<?> f : fields) {
+			MethodSpec getter = createGetter(f, options, handles);
+			MethodSpec setter = createSetter(f, options, handles);
+			CodeBlock mark = DirtyTracking.markIfTracked(f, fields, options);
+			if (!mark.isEmpty()) {
+				setter = setter.toBuilder().addCode(mark).build();
 			}
+			typeBuilder.addMethod(getter);
+			typeBuilder.addMethod(setter);
+			if (options.hasFeature(MimicFeature.STATIC_ACCESSORS) && !f.isStatic()) {
+				StaticAccessors.addTo(typeBuilder, model, f, handles);
+			}
+			if (options.hasFeature(MimicFeature.ATOMICS)) {
+				AtomicAccessors.addTo(typeBuilder, f, mark, handles);
+			}
+		}
+
+		if (options.hasFeature(MimicFeature.CONSTANTS)) {
+			// names with a $ are synthetic, e.g. $assertionsDisabled
+			model.getFields().stream().filter(f -> f.isConstant() && !f.getName().contains("$"))
+					.forEach(f -> typeBuilder.addMethod(createGetter(f, options, handles)));
 		}
 
+		if (options.hasFeature(MimicFeature.METHODS)) {
+			MethodInvokers.addTo(typeBuilder, model, handles);
+		}
+		if (options.hasFeature(MimicFeature.FACTORIES)) {
+			InstanceFactories.addTo(typeBuilder, model, handles);
+		}
+
+		ClassName fieldsType = null;
+		if (FieldsType.isRequired(options)) {
+			fieldsType = FieldsType.addTo(typeBuilder, mimicType, fields);
+		}
+		if (options.hasFeature(MimicFeature.SNAPSHOT)) {
+			SnapshotMethods.addTo(typeBuilder, mimicType, fields, options, handles);
+		}
+		if (options.hasFeature(MimicFeature.COPY)) {
+			CopyMethods.addTo(typeBuilder, model, fieldsType, fields, options, handles);
+		}
+		if (options.hasFeature(MimicFeature.BULK)) {
+			BulkMethods.addTo(typeBuilder, model, fields, handles);
+		}
+		if (options.hasFeature(MimicFeature.DEEP_CLONE)) {
+			DeepClone.addTo(typeBuilder, model, mimicType, fields, options, handles);
+		}
+		if (options.hasFeature(MimicFeature.BINARY_CODEC)) {
+			BinaryCodec.addTo(typeBuilder, model, mimicType, fields, options, handles);
+		}
+		if (options.hasFeature(MimicFeature.OFF_HEAP_STORE)) {
+			OffHeapStore.addTo(typeBuilder, model, mimicType, fields, handles);
+		}
+		if (options.hasFeature(MimicFeature.STATE_EQUALITY)) {
+			StateMethods.addTo(typeBuilder, model, fieldsType, fields, handles);
+		}
+		if (options.hasFeature(MimicFeature.DYNAMIC_ACCESS)) {
+			DynamicAccess.addTo(typeBuilder, mimicType, fields);
+		}
+		if (options.hasFeature(MimicFeature.DIRTY_TRACKING)) {
+			DirtyTracking.addTo(typeBuilder, fieldsType, fields, handles);
+		}
+		if (options.hasFeature(MimicFeature.METRICS)) {
+			FieldMetrics.addTo(typeBuilder, mimicType, fields);
+		}
+
+		handles.addTo(typeBuilder);
 		return typeBuilder.build();
 	}
 
 	/**
-	 * Creates a getter for the given field. Uses reflection if the field is
-	 * non-public.
+	 * Adds a non-final instance field, a constructor without an instance and a
+	 * {@code bind} method to reuse the Mimic for multiple instances. With
+	 * {@link MimicFeature#DIRTY_TRACKING}, binding clears the dirty fields.
 	 *
-	 * @param f The field to create a getter for
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model to create a Mimic for
+	 * @param mimicType   The name of the Mimic type
+	 * @param options     The options to customize the Mimic
+	 * @param fields      The non-constant fields of the model
+	 */
+	private static void addFlyweight(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName mimicType,
+			MimicOptions options, List<FieldAdapter<?>> fields) {
+		typeBuilder.addField(model.getTypeName(), "instance", Modifier.PRIVATE);
+		typeBuilder.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC).build());
+		MethodSpec.Builder bind = MethodSpec.methodBuilder("bind").addModifiers(Modifier.PUBLIC)
+				.returns(mimicType).addParameter(model.getTypeName(), "instance")
+				.addStatement("this.instance = instance");
+		if (options.hasFeature(MimicFeature.DIRTY_TRACKING)) {
+			bind.addStatement(DirtyTracking.clear(fields));
+		}
+		typeBuilder.addMethod(bind.addStatement("return this").build());
+	}
+
+	/**
+	 * Creates a getter for the given field. Uses the configured
+	 * {@link AccessorMode} if the field is non-public.
+	 * <p>
+	 * The getter of a static field is static and always uses direct access or a
+	 * cached {@link java.lang.invoke.VarHandle VarHandle}.
+	 *
+	 * @param f       The field to create a getter for
+	 * @param options The options to customize the Mimic
+	 * @param handles The handles of the Mimic
 	 * @return The {@code MethodSpec} for the getter
 	 */
-	private static MethodSpec createGetter(FieldAdapter<?> f) {
+	private static MethodSpec createGetter(FieldAdapter<?> f, MimicOptions options, Handles handles) {
 		String getterName = "get" + pascalCase(f.getName());
 		MethodSpec.Builder getterBuilder = MethodSpec.methodBuilder(getterName).addModifiers(Modifier.PUBLIC)
 				.returns(f.getType());
-		if (f.isPublic()) {
-			getterBuilder.addStatement("return instance.$L", f.getName());
+		if (f.isStatic()) {
+			getterBuilder.addModifiers(Modifier.STATIC);
+		}
+		if (options.hasFeature(MimicFeature.METRICS) && !f.isConstant()) {
+			getterBuilder.addStatement("$L.increment()", FieldMetrics.gets(f));
+		}
+		if (f.isPublic() || f.isStatic() || options.getAccessorMode() == AccessorMode.VAR_HANDLE) {
+			getterBuilder.addStatement("return $L", FieldAccess.read(f, "instance", handles));
 		} else {
-			getterBuilder.beginControlFlow("try")
-					.addStatement("$T f = $T.class.getDeclaredField($S)", Field.class, f.getDeclaringClass(),
-							f.getName())
-					.addStatement("f.setAccessible(true)").addStatement("return ($T) f.get(instance)", f.getType())
-					.nextControlFlow("catch ($T | $T e)", NoSuchFieldException.class, IllegalAccessException.class)
+			getterBuilder.beginControlFlow("try").addStatement("return $L", reflectiveGet(f, handles.field(f)))
+					.nextControlFlow("catch ($T e)", IllegalAccessException.class)
 					.addStatement("throw new $T(e)", RuntimeException.class).endControlFlow();
 		}
 		return getterBuilder.build();
 	}
 
 	/**
-	 * Creates a setter for the given field. Uses reflection if the field is
-	 * non-public.
+	 * Creates a setter for the given field. Uses the configured
+	 * {@link AccessorMode} if the field is non-public or final.
+	 * <p>
+	 * The setter of a static field is static and always uses direct access or a
+	 * cached {@link java.lang.invoke.VarHandle VarHandle}.
 	 *
-	 * @param f The field to create a setter for
+	 * @param f       The field to create a setter for
+	 * @param options The options to customize the Mimic
+	 * @param handles The handles of the Mimic
 	 * @return The {@code MethodSpec} for the setter
 	 */
-	private static MethodSpec createSetter(FieldAdapter<?> f) {
+	private static MethodSpec createSetter(FieldAdapter<?> f, MimicOptions options, Handles handles) {
 		String setterName = "set" + pascalCase(f.getName());
 		MethodSpec.Builder setterBuilder = MethodSpec.methodBuilder(setterName).addModifiers(Modifier.PUBLIC)
 				.addParameter(f.getType(), "value");
-		if (f.isPublic() && !f.isFinal()) {
-			setterBuilder.addStatement("instance.$L = value", f.getName());
+		if (f.isStatic()) {
+			setterBuilder.addModifiers(Modifier.STATIC);
+		}
+		if (options.hasFeature(MimicFeature.METRICS)) {
+			setterBuilder.addStatement("$L.increment()", FieldMetrics.sets(f));
+		}
+		if ((f.isPublic() && !f.isFinal()) || f.isStatic() || options.getAccessorMode() == AccessorMode.VAR_HANDLE) {
+			setterBuilder.addCode(FieldAccess.write(f, "instance", CodeBlock.of("value"), handles));
 		} else {
-			setterBuilder.beginControlFlow("try")
-					.addStatement("$T f = $T.class.getDeclaredField($S)", Field.class, f.getDeclaringClass(),
-							f.getName())
-					.addStatement("f.setAccessible(true)").addStatement("f.set(instance, value)")
-					.nextControlFlow("catch ($T | $T e)", NoSuchFieldException.class, IllegalAccessException.class)
+			setterBuilder.beginControlFlow("try").addStatement(reflectiveSet(f, handles.field(f)))
+					.nextControlFlow("catch ($T e)", IllegalAccessException.class)
 					.addStatement("throw new $T(e)", RuntimeException.class).endControlFlow();
 		}
 		return setterBuilder.build();
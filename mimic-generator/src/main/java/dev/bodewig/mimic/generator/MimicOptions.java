@@ -0,0 +1,151 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Options to customize the Mimics created by the {@link MimicGenerator}
+ */
+public class MimicOptions {
+
+	/**
+	 * The default options, using {@link AccessorMode#REFLECTION} without any
+	 * {@link MimicFeature}
+	 */
+	public static final MimicOptions DEFAULT = new MimicOptions(AccessorMode.REFLECTION);
+
+	/**
+	 * The accessor mode for non-public fields
+	 */
+	protected final AccessorMode accessorMode;
+
+	/**
+	 * The enabled features
+	 */
+	protected final Set<MimicFeature> features;
+
+	/**
+	 * The qualified names of other Mimics by the canonical name of the mimicked
+	 * class
+	 */
+	protected final Map<String, String> mimics;
+
+	/**
+	 * The canonical names of the classes in {@link #mimics} whose Mimics can
+	 * allocate instances
+	 */
+	protected final Set<String> allocatable;
+
+	/**
+	 * Constructor with an {@link AccessorMode}
+	 *
+	 * @param accessorMode The accessor mode for non-public fields
+	 */
+	public MimicOptions(AccessorMode accessorMode) {
+		this(accessorMode, Collections.emptySet());
+	}
+
+	/**
+	 * Constructor with an {@link AccessorMode} and a set of {@link MimicFeature}s
+	 *
+	 * @param accessorMode The accessor mode for non-public fields
+	 * @param features     The enabled features
+	 */
+	public MimicOptions(AccessorMode accessorMode, Set<MimicFeature> features) {
+		this(accessorMode, features, Collections.emptyMap());
+	}
+
+	/**
+	 * Constructor with an {@link AccessorMode}, a set of {@link MimicFeature}s and
+	 * the other Mimics the created Mimic may delegate to, e.g. to clone fields with
+	 * {@link MimicFeature#DEEP_CLONE}. The other Mimics need the same delegating
+	 * features.
+	 *
+	 * @param accessorMode The accessor mode for non-public fields
+	 * @param features     The enabled features
+	 * @param mimics       The qualified names of other Mimics by the canonical name
+	 *                     of the mimicked class, see
+	 *                     {@link MimicGenerator#buildMimicNames(java.util.Collection, String)}
+	 */
+	public MimicOptions(AccessorMode accessorMode, Set<MimicFeature> features, Map<String, String> mimics) {
+		this(accessorMode, features, mimics, Collections.emptySet());
+	}
+
+	/**
+	 * Constructor with an {@link AccessorMode}, a set of {@link MimicFeature}s, the
+	 * other Mimics the created Mimic may delegate to and the classes whose Mimics
+	 * can allocate instances. {@link MimicFeature#BINARY_CODEC} only decodes
+	 * fields of other Mimics that can allocate.
+	 *
+	 * @param accessorMode The accessor mode for non-public fields
+	 * @param features     The enabled features
+	 * @param mimics       The qualified names of other Mimics by the canonical name
+	 *                     of the mimicked class
+	 * @param allocatable  The canonical names of the mimicked classes that are not
+	 *                     abstract and have a no-args constructor, see
+	 *                     {@link MimicGenerator#canAllocate(ModelAdapter)}
+	 */
+	public MimicOptions(AccessorMode accessorMode, Set<MimicFeature> features, Map<String, String> mimics,
+			Set<String> allocatable) {
+		this.accessorMode = Objects.requireNonNull(accessorMode);
+		this.features = features.isEmpty() ? Collections.emptySet()
+				: Collections.unmodifiableSet(EnumSet.copyOf(features));
+		this.mimics = Map.copyOf(mimics);
+		this.allocatable = Set.copyOf(allocatable);
+	}
+
+	/**
+	 * Returns the accessor mode for non-public fields
+	 *
+	 * @return The accessor mode
+	 */
+	public AccessorMode getAccessorMode() {
+		return accessorMode;
+	}
+
+	/**
+	 * Returns the enabled features
+	 *
+	 * @return The enabled features
+	 */
+	public Set<MimicFeature> getFeatures() {
+		return features;
+	}
+
+	/**
+	 * Returns if the given feature is enabled
+	 *
+	 * @param feature The feature
+	 * @return If the feature is enabled
+	 */
+	public boolean hasFeature(MimicFeature feature) {
+		return features.contains(feature);
+	}
+
+	/**
+	 * Returns the other Mimics the created Mimic may delegate to
+	 *
+	 * @return The qualified names of the Mimics by the canonical name of the
+	 *         mimicked class
+	 */
+	public Map<String, String> getMimics() {
+		return mimics;
+	}
+
+	/**
+	 * Returns the classes of the other Mimics that can allocate instances
+	 *
+	 * @return The canonical names of the mimicked classes
+	 */
+	public Set<String> getAllocatable() {
+		return allocatable;
+	}
+
+	@Override
+	public String toString() {
+		return "MimicOptions(" + accessorMode + ", " + features + ", " + mimics.keySet() + ")";
+	}
+}
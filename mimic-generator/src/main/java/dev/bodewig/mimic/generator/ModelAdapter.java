@@ -1,24 +1,31 @@
 package dev.bodewig.mimic.generator;
 
+import java.io.IOException;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.util.HashSet;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.TypeName;
 
 /**
- * Adapter to delegate operations to a {@link ClassModelAdapter} or
- * {@link TypeModelAdapter}
+ * Adapter to delegate operations to a {@link ClassModelAdapter},
+ * {@link TypeModelAdapter} or {@link ClassFileModelAdapter}
  *
  * @param <T> The return type of {@link FieldAdapter#getDeclaringClass()}
  */
@@ -40,11 +47,46 @@ public interface ModelAdapter<T> {
 
 	/**
 	 * Returns the model's fields as a {@code Set} of {@link FieldAdapter}s
+	 * <p>
+	 * The fields are ordered by declaration, fields of a superclass before the
+	 * fields of its subclasses, so the generated Mimics are reproducible. The
+	 * declaration order is kept rather than sorted because it is part of the
+	 * generated API, e.g. the parameter order of the {@code set} method and the
+	 * layout of the binary codec.
 	 *
 	 * @return The model's fields
 	 */
 	Set<FieldAdapter<T>> getFields();
 
+	/**
+	 * Returns the model's methods as a {@code Set} of {@link MethodAdapter}s
+	 * <p>
+	 * Constructors, initializers, synthetic and bridge methods and the methods of
+	 * {@code Object} are excluded. Methods of a superclass come before the methods
+	 * of its subclasses and are ordered by {@link MethodAdapter#getSignature()}
+	 * within each class, an overridden method is contained once per declaring
+	 * class.
+	 *
+	 * @return The model's methods
+	 */
+	Set<MethodAdapter<T>> getMethods();
+
+	/**
+	 * Returns the constructors declared by the model itself as a {@code Set} of
+	 * {@link MethodAdapter}s ordered by {@link MethodAdapter#getSignature()},
+	 * synthetic constructors are excluded
+	 *
+	 * @return The model's constructors
+	 */
+	Set<MethodAdapter<T>> getConstructors();
+
+	/**
+	 * Returns if the model is abstract and cannot be instantiated
+	 *
+	 * @return If the model is abstract
+	 */
+	boolean isAbstract();
+
 	/**
 	 * Static initializer for a {@link Class} instance
 	 *
@@ -65,6 +107,19 @@ public interface ModelAdapter<T> {
 		return new TypeModelAdapter(type);
 	}
 
+	/**
+	 * Static initializer for a class read from a {@link ClassPath} without loading
+	 * it
+	 *
+	 * @param classPath The class path to read the class and its superclasses from
+	 * @param className The binary name of the class
+	 * @return A {@code ModelAdapter} with the read class files
+	 * @throws IOException If a class file is not found or cannot be read
+	 */
+	static ModelAdapter<ClassName> fromClassFile(ClassPath classPath, String className) throws IOException {
+		return new ClassFileModelAdapter(classPath, className);
+	}
+
 	/**
 	 * {@link ModelAdapter} for a {@link Class} instance
 	 */
@@ -94,22 +149,69 @@ public interface ModelAdapter<T> {
 			return TypeName.get(clazz);
 		}
 
+		/**
+		 * Returns the fields in the order of {@link Class#getDeclaredFields()}
+		 * <p>
+		 * The order is unspecified by the JDK, but HotSpot returns the
+		 * fields in class file order, which {@code javac} writes in source order.
+		 * This matches the {@link TypeModelAdapter} and the
+		 * {@link ClassFileModelAdapter}, so a class gets the same Mimic from every
+		 * adapter.
+		 */
 		@Override
 		public Set<FieldAdapter<Class<?>>> getFields() {
-			return getFields(clazz).stream().map(FieldAdapter::from).collect(Collectors.toSet());
+			return getFields(clazz).stream().map(FieldAdapter::from)
+					.collect(Collectors.toCollection(LinkedHashSet::new));
 		}
 
 		private static Set<Field> getFields(Class<?> clazz) {
-			Set<Field> fields = new HashSet<>();
-			Field[] ownFields = clazz.getDeclaredFields();
-			AccessibleObject.setAccessible(ownFields, true);
-			fields.addAll(List.of(ownFields));
+			Set<Field> fields = new LinkedHashSet<>();
 			if (clazz.getSuperclass() != null) {
 				fields.addAll(getFields(clazz.getSuperclass()));
 			}
+			Field[] ownFields = clazz.getDeclaredFields();
+			AccessibleObject.setAccessible(ownFields, true);
+			fields.addAll(List.of(ownFields));
 			return fields;
 		}
 
+		/**
+		 * Returns the methods ordered by signature within each class, since
+		 * {@link Class#getDeclaredMethods()} does not guarantee any order
+		 */
+		@Override
+		public Set<MethodAdapter<Class<?>>> getMethods() {
+			Set<MethodAdapter<Class<?>>> methods = new LinkedHashSet<>();
+			addMethods(clazz, methods);
+			return methods;
+		}
+
+		private static void addMethods(Class<?> clazz, Set<MethodAdapter<Class<?>>> methods) {
+			if (clazz == null || clazz == Object.class) {
+				return;
+			}
+			addMethods(clazz.getSuperclass(), methods);
+			Arrays.stream(clazz.getDeclaredMethods()).filter(m -> !m.isSynthetic() && !m.isBridge())
+					.map(MethodAdapter::from).sorted(Comparator.comparing(MethodAdapter::getSignature))
+					.forEach(methods::add);
+		}
+
+		/**
+		 * Returns the constructors ordered by signature, since
+		 * {@link Class#getDeclaredConstructors()} does not guarantee any order
+		 */
+		@Override
+		public Set<MethodAdapter<Class<?>>> getConstructors() {
+			return Arrays.stream(clazz.getDeclaredConstructors()).filter(c -> !c.isSynthetic())
+					.map(MethodAdapter::from).sorted(Comparator.comparing(MethodAdapter::getSignature))
+					.collect(Collectors.toCollection(LinkedHashSet::new));
+		}
+
+		@Override
+		public boolean isAbstract() {
+			return Modifier.isAbstract(clazz.getModifiers());
+		}
+
 		@Override
 		public String toString() {
 			return "ClassModelAdapter(" + clazz.getName() + ", " + getFields() + ")";
@@ -147,15 +249,12 @@ public interface ModelAdapter<T> {
 
 		@Override
 		public Set<FieldAdapter<Element>> getFields() {
-			return getFields(type).stream().map(FieldAdapter::from).collect(Collectors.toSet());
+			return getFields(type).stream().map(FieldAdapter::from)
+					.collect(Collectors.toCollection(LinkedHashSet::new));
 		}
 
 		private static Set<VariableElement> getFields(TypeElement t) {
-			Set<VariableElement> fields = new HashSet<>();
-			Set<VariableElement> ownFields = t.getEnclosedElements().stream()
-					.filter(e -> e.getKind().equals(ElementKind.FIELD)).map(e -> (VariableElement) e)
-					.collect(Collectors.toSet());
-			fields.addAll(ownFields);
+			Set<VariableElement> fields = new LinkedHashSet<>();
 			if (!t.getSuperclass().getKind().equals(TypeKind.NONE)) {
 				DeclaredType parentType = (DeclaredType) t.getSuperclass();
 				TypeElement parentElement = (TypeElement) parentType.asElement();
@@ -163,12 +262,136 @@ public interface ModelAdapter<T> {
 					fields.addAll(getFields(parentElement));
 				}
 			}
+			t.getEnclosedElements().stream().filter(e -> e.getKind().equals(ElementKind.FIELD))
+					.map(e -> (VariableElement) e).forEach(fields::add);
 			return fields;
 		}
 
+		@Override
+		public Set<MethodAdapter<Element>> getMethods() {
+			Set<MethodAdapter<Element>> methods = new LinkedHashSet<>();
+			addMethods(type, methods);
+			return methods;
+		}
+
+		private static void addMethods(TypeElement t, Set<MethodAdapter<Element>> methods) {
+			if (t.getQualifiedName().contentEquals(Object.class.getName())) {
+				return;
+			}
+			if (!t.getSuperclass().getKind().equals(TypeKind.NONE)) {
+				addMethods((TypeElement) ((DeclaredType) t.getSuperclass()).asElement(), methods);
+			}
+			t.getEnclosedElements().stream().filter(e -> e.getKind().equals(ElementKind.METHOD))
+					.map(e -> MethodAdapter.from((ExecutableElement) e))
+					.sorted(Comparator.comparing(MethodAdapter::getSignature)).forEach(methods::add);
+		}
+
+		@Override
+		public Set<MethodAdapter<Element>> getConstructors() {
+			return type.getEnclosedElements().stream().filter(e -> e.getKind().equals(ElementKind.CONSTRUCTOR))
+					.map(e -> MethodAdapter.from((ExecutableElement) e))
+					.sorted(Comparator.comparing(MethodAdapter::getSignature))
+					.collect(Collectors.toCollection(LinkedHashSet::new));
+		}
+
+		@Override
+		public boolean isAbstract() {
+			return type.getModifiers().contains(javax.lang.model.element.Modifier.ABSTRACT);
+		}
+
 		@Override
 		public String toString() {
 			return "TypeModelAdapter(" + type.getQualifiedName() + ", " + getFields() + ")";
 		}
 	}
+
+	/**
+	 * {@link ModelAdapter} for a {@link ClassFile} and its superclasses
+	 */
+	class ClassFileModelAdapter implements ModelAdapter<ClassName> {
+
+		private static final int ACC_BRIDGE = 0x0040;
+
+		private static final int ACC_SYNTHETIC = 0x1000;
+
+		/**
+		 * The class file followed by the class files of its superclasses
+		 */
+		protected final List<ClassFile> hierarchy = new ArrayList<>();
+
+		/**
+		 * Constructor reading the class and its superclasses from a
+		 * {@code ClassPath}
+		 *
+		 * @param classPath The class path to read from
+		 * @param className The binary name of the class
+		 * @throws IOException If a class file is not found or cannot be read
+		 */
+		public ClassFileModelAdapter(ClassPath classPath, String className) throws IOException {
+			for (String name = className; name != null;) {
+				ClassFile classFile = classPath.load(name);
+				hierarchy.add(classFile);
+				name = classFile.getSuperclassName();
+			}
+		}
+
+		@Override
+		public String getSimpleName() {
+			return ClassFile.className(hierarchy.get(0).getName()).simpleName();
+		}
+
+		@Override
+		public TypeName getTypeName() {
+			return ClassFile.className(hierarchy.get(0).getName());
+		}
+
+		@Override
+		public Set<FieldAdapter<ClassName>> getFields() {
+			Set<FieldAdapter<ClassName>> fields = new LinkedHashSet<>();
+			for (int i = hierarchy.size() - 1; i >= 0; i--) {
+				ClassFile classFile = hierarchy.get(i);
+				ClassName declaringClass = ClassFile.className(classFile.getName());
+				classFile.getFields().forEach(f -> fields.add(FieldAdapter.from(declaringClass, f)));
+			}
+			return fields;
+		}
+
+		@Override
+		public Set<MethodAdapter<ClassName>> getMethods() {
+			Set<MethodAdapter<ClassName>> methods = new LinkedHashSet<>();
+			for (int i = hierarchy.size() - 1; i >= 0; i--) {
+				ClassFile classFile = hierarchy.get(i);
+				if (classFile.getSuperclassName() == null) {
+					continue; // java.lang.Object
+				}
+				ClassName declaringClass = ClassFile.className(classFile.getName());
+				classFile.getMethods().stream()
+						.filter(m -> !m.name().startsWith("<") && (m.access() & (ACC_SYNTHETIC | ACC_BRIDGE)) == 0)
+						.map(m -> MethodAdapter.from(declaringClass, m))
+						.sorted(Comparator.comparing(MethodAdapter::getSignature)).forEach(methods::add);
+			}
+			return methods;
+		}
+
+		@Override
+		public Set<MethodAdapter<ClassName>> getConstructors() {
+			ClassFile classFile = hierarchy.get(0);
+			ClassName declaringClass = ClassFile.className(classFile.getName());
+			return classFile.getMethods().stream()
+					.filter(m -> m.name().equals("<init>") && (m.access() & ACC_SYNTHETIC) == 0)
+					.map(m -> MethodAdapter.from(declaringClass, m))
+					.sorted(Comparator.comparing(MethodAdapter::getSignature))
+					.collect(Collectors.toCollection(LinkedHashSet::new));
+		}
+
+		@Override
+		public boolean isAbstract() {
+			return Modifier.isAbstract(hierarchy.get(0).getAccess());
+		}
+
+		@Override
+		public String toString() {
+			return "ClassFileModelAdapter(" + hierarchy.get(0).getName() + ", " + getFields() + ")";
+		}
+	}
 }
@@ -0,0 +1,231 @@
+package dev.bodewig.mimic.generator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the nested {@code Store} type of {@link MimicFeature#OFF_HEAP_STORE}:
+ * a growable columnar store keeping the primitive and string instance fields of
+ * many instances in direct {@link ByteBuffer}s, one column per field.
+ * <p>
+ * Primitive columns have a fixed width per row in native byte order. A string
+ * column consists of a column of offsets and lengths into an append-only data
+ * buffer of UTF-8 bytes; replaced strings are not reclaimed until
+ * {@code clear()}. Fields of other types are not stored. The store is not
+ * thread-safe.
+ * <p>
+ * Each buffer holds at most {@link Integer#MAX_VALUE} bytes, which limits the
+ * store to {@code MAX_ROWS} rows depending on the widest column and each
+ * string field to 2 GiB of UTF-8 data. Exceeding a limit throws an
+ * {@link IllegalStateException}.
+ */
+class OffHeapStore {
+
+	/**
+	 * The simple name of the nested store type
+	 */
+	static final String STORE_TYPE = "Store";
+
+	/**
+	 * The default capacity of a store in rows
+	 */
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * Default constructor
+	 */
+	private OffHeapStore() {
+	}
+
+	/**
+	 * Adds the store type to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName mimicType,
+			List<FieldAdapter<?>> fields, Handles handles) {
+		List<FieldAdapter<?>> stored = fields.stream().filter(f -> !f.isStatic() && isStorable(f))
+				.collect(Collectors.toList());
+		int maxWidth = stored.stream().mapToInt(f -> isString(f) ? 8 : width(f.getType())).max().orElse(1);
+		TypeName type = model.getTypeName();
+		TypeName bufferType = TypeName.get(ByteBuffer.class);
+		TypeSpec.Builder store = TypeSpec.classBuilder(STORE_TYPE)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.addField(FieldSpec.builder(TypeName.INT, "MAX_ROWS", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+						.addJavadoc("The maximal number of rows, limited by the widest column\n")
+						.initializer("$T.MAX_VALUE / $L", Integer.class, maxWidth).build())
+				.addField(TypeName.INT, "size", Modifier.PRIVATE).addField(TypeName.INT, "capacity", Modifier.PRIVATE);
+
+		MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC)
+				.addParameter(TypeName.INT, "capacity")
+				.beginControlFlow("if (capacity > MAX_ROWS)")
+				.addStatement("throw new $T($S + MAX_ROWS + $S + capacity)", IllegalArgumentException.class,
+						"Capacity exceeds ", " rows: ")
+				.endControlFlow().addStatement("this.capacity = $T.max(1, capacity)", Math.class);
+		MethodSpec.Builder growTo = MethodSpec.methodBuilder("growTo").addModifiers(Modifier.PRIVATE)
+				.addParameter(TypeName.INT, "capacity");
+		MethodSpec.Builder append = MethodSpec.methodBuilder("append").addModifiers(Modifier.PUBLIC)
+				.returns(TypeName.INT).addParameter(type, "instance").beginControlFlow("if (size == capacity)")
+				.beginControlFlow("if (capacity == MAX_ROWS)")
+				.addStatement("throw new $T($S + MAX_ROWS + $S)", IllegalStateException.class, "Store is full with ",
+						" rows")
+				.endControlFlow().addStatement("growTo((int) $T.min(capacity * 2L, MAX_ROWS))", Math.class)
+				.endControlFlow().addStatement("int index = size++");
+		MethodSpec.Builder materializeInto = MethodSpec.methodBuilder("materialize").addModifiers(Modifier.PUBLIC)
+				.addParameter(TypeName.INT, "index").addParameter(type, "target")
+				.addStatement("$T.checkIndex(index, size)", Objects.class)
+				.addStatement("$T mimic = new $T(target)", mimicType, mimicType);
+		MethodSpec.Builder clear = MethodSpec.methodBuilder("clear").addModifiers(Modifier.PUBLIC)
+				.addStatement("size = 0");
+
+		for (FieldAdapter<?> f : stored) {
+			String column = f.getName() + "Column";
+			String name = MimicGenerator.pascalCase(f.getName());
+			TypeName fieldType = f.getType();
+			int width = isString(f) ? 8 : width(fieldType);
+			store.addField(bufferType, column, Modifier.PRIVATE);
+			constructor.addStatement("$L = allocate(this.capacity * $L)", column, width);
+			growTo.addStatement("$L = grow($L, capacity * $L)", column, column, width);
+			append.addStatement("write$L(index, $L)", name, FieldAccess.read(f, "instance", handles));
+			materializeInto.addStatement("mimic.set$L(get$L(index))", name, name);
+
+			MethodSpec.Builder write = MethodSpec.methodBuilder("write" + name).addModifiers(Modifier.PRIVATE)
+					.addParameter(TypeName.INT, "index").addParameter(fieldType, "value");
+			MethodSpec.Builder get = MethodSpec.methodBuilder("get" + name).addModifiers(Modifier.PUBLIC)
+					.returns(fieldType).addParameter(TypeName.INT, "index")
+					.addStatement("$T.checkIndex(index, size)", Objects.class);
+			if (isString(f)) {
+				String data = f.getName() + "Data";
+				String dataSize = f.getName() + "DataSize";
+				store.addField(bufferType, data, Modifier.PRIVATE).addField(TypeName.INT, dataSize,
+						Modifier.PRIVATE);
+				constructor.addStatement("$L = allocate((int) $T.min(this.capacity * 16L, $T.MAX_VALUE))", data,
+						Math.class, Integer.class);
+				clear.addStatement("$L = 0", dataSize);
+				write.beginControlFlow("if (value == null)").addStatement("$L.putInt(index * 8 + 4, -1)", column)
+						.addStatement("return").endControlFlow()
+						.addStatement("byte[] bytes = value.getBytes($T.UTF_8)", StandardCharsets.class)
+						.beginControlFlow("if (bytes.length > $L.capacity() - $L)", data, dataSize)
+						.beginControlFlow("if (bytes.length > $T.MAX_VALUE - $L)", Integer.class, dataSize)
+						.addStatement("throw new $T($S)", IllegalStateException.class,
+								"String data of " + f.getName() + " exceeds " + Integer.MAX_VALUE + " bytes")
+						.endControlFlow()
+						.addStatement("$L = grow($L, (int) $T.min($T.max($L.capacity() * 2L, $L + bytes.length), "
+								+ "$T.MAX_VALUE))", data, data, Math.class, Math.class, data, dataSize, Integer.class)
+						.endControlFlow().addStatement("$L.put($L, bytes)", data, dataSize)
+						.addStatement("$L.putInt(index * 8, $L).putInt(index * 8 + 4, bytes.length)", column,
+								dataSize)
+						.addStatement("$L += bytes.length", dataSize);
+				get.addStatement("int length = $L.getInt(index * 8 + 4)", column)
+						.beginControlFlow("if (length < 0)").addStatement("return null").endControlFlow()
+						.addStatement("byte[] bytes = new byte[length]")
+						.addStatement("$L.get($L.getInt(index * 8), bytes)", data, column)
+						.addStatement("return new $T(bytes, $T.UTF_8)", String.class, StandardCharsets.class);
+			} else if (fieldType.equals(TypeName.BOOLEAN)) {
+				write.addStatement("$L.put(index, ($T) (value ? 1 : 0))", column, TypeName.BYTE);
+				get.addStatement("return $L.get(index) != 0", column);
+			} else if (fieldType.equals(TypeName.BYTE)) {
+				write.addStatement("$L.put(index, value)", column);
+				get.addStatement("return $L.get(index)", column);
+			} else {
+				write.addStatement("$L.put$L(index * $L, value)", column, suffix(fieldType), width);
+				get.addStatement("return $L.get$L(index * $L)", column, suffix(fieldType), width);
+			}
+			store.addMethod(get.build());
+			store.addMethod(MethodSpec.methodBuilder("set" + name).addModifiers(Modifier.PUBLIC)
+					.addParameter(TypeName.INT, "index").addParameter(fieldType, "value")
+					.addStatement("$T.checkIndex(index, size)", Objects.class)
+					.addStatement("write$L(index, value)", name).build());
+			store.addMethod(write.build());
+		}
+
+		store.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC)
+				.addStatement("this($L)", DEFAULT_CAPACITY).build());
+		store.addMethod(constructor.build());
+		store.addMethod(MethodSpec.methodBuilder("size").addModifiers(Modifier.PUBLIC).returns(TypeName.INT)
+				.addStatement("return size").build());
+		store.addMethod(append.addStatement("return index").build());
+		store.addMethod(materializeInto.build());
+		if (InstanceFactories.addAllocator(typeBuilder, model, handles)) {
+			store.addMethod(MethodSpec.methodBuilder("materialize").addModifiers(Modifier.PUBLIC).returns(type)
+					.addParameter(TypeName.INT, "index")
+					.addStatement("$T instance = $T.$L()", type, mimicType, InstanceFactories.ALLOCATOR)
+					.addStatement("materialize(index, instance)").addStatement("return instance").build());
+		}
+		store.addMethod(clear.build());
+		store.addMethod(growTo.addStatement("this.capacity = capacity").build());
+		store.addMethod(MethodSpec.methodBuilder("allocate").addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.returns(bufferType).addParameter(TypeName.INT, "bytes")
+				.addStatement("return $T.allocateDirect(bytes).order($T.nativeOrder())", ByteBuffer.class,
+						ByteOrder.class)
+				.build());
+		store.addMethod(MethodSpec.methodBuilder("grow").addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.returns(bufferType).addParameter(bufferType, "column").addParameter(TypeName.INT, "bytes")
+				.addStatement("$T grown = allocate(bytes)", ByteBuffer.class)
+				.addStatement("grown.put(0, column, 0, column.capacity())").addStatement("return grown").build());
+		typeBuilder.addType(store.build());
+	}
+
+	/**
+	 * Checks if a field is kept in the store
+	 *
+	 * @param f The field
+	 * @return If the field is a primitive or a string
+	 */
+	private static boolean isStorable(FieldAdapter<?> f) {
+		return f.getType().isPrimitive() || isString(f);
+	}
+
+	/**
+	 * Checks if a field is a string
+	 *
+	 * @param f The field
+	 * @return If the field is a string
+	 */
+	private static boolean isString(FieldAdapter<?> f) {
+		return f.getType().equals(ClassName.get(String.class));
+	}
+
+	/**
+	 * Returns the width of a primitive type in bytes
+	 *
+	 * @param type The primitive type
+	 * @return The width, a {@code boolean} takes one byte
+	 */
+	private static int width(TypeName type) {
+		if (type.equals(TypeName.BOOLEAN) || type.equals(TypeName.BYTE)) {
+			return 1;
+		} else if (type.equals(TypeName.CHAR) || type.equals(TypeName.SHORT)) {
+			return 2;
+		} else if (type.equals(TypeName.INT) || type.equals(TypeName.FLOAT)) {
+			return 4;
+		}
+		return 8;
+	}
+
+	/**
+	 * Returns the suffix of the {@link ByteBuffer} methods for a primitive type
+	 *
+	 * @param type The primitive type wider than a byte
+	 * @return The suffix, e.g. {@code Int}
+	 */
+	private static String suffix(TypeName type) {
+		return MimicGenerator.pascalCase(type.toString());
+	}
+}
@@ -0,0 +1,138 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#SNAPSHOT}: an immutable
+ * {@code Snapshot} type with a component for each instance field, a
+ * {@code snapshot()} method reading all fields in one pass and a matching
+ * {@code restore(Snapshot)} method.
+ * <p>
+ * The {@code Snapshot} is a final class with value-based {@code equals},
+ * {@code hashCode} and {@code toString} like a record, since JavaPoet cannot
+ * generate records. The copy is shallow: arrays and other mutable objects are
+ * shared with the instance, so {@code restore} does not roll back changes to
+ * their contents.
+ * <p>
+ * The components are always qualified and the locals of the generated methods
+ * start with {@code $}, so fields named like a local are not shadowed.
+ */
+class SnapshotMethods {
+
+	/**
+	 * The simple name of the nested snapshot type
+	 */
+	static final String SNAPSHOT_TYPE = "Snapshot";
+
+	/**
+	 * Default constructor
+	 */
+	private SnapshotMethods() {
+	}
+
+	/**
+	 * Adds the snapshot type and methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param mimicType   The name of the Mimic type
+	 * @param fields      The non-constant fields of the model
+	 * @param options     The options of the Mimic
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ClassName mimicType, List<FieldAdapter<?>> fields,
+			MimicOptions options, Handles handles) {
+		List<FieldAdapter<?>> instanceFields = fields.stream().filter(f -> !f.isStatic())
+				.collect(Collectors.toList());
+		ClassName snapshotType = mimicType.nestedClass(SNAPSHOT_TYPE);
+
+		TypeSpec.Builder snapshotBuilder = TypeSpec.classBuilder(SNAPSHOT_TYPE)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+				.addJavadoc("An immutable shallow copy of the instance fields. Arrays and other mutable objects are\n"
+						+ "shared, {@code restore} does not roll back changes to their contents.\n");
+		MethodSpec.Builder equals = MethodSpec.methodBuilder("equals").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(TypeName.BOOLEAN).addParameter(Object.class, "$o")
+				.beginControlFlow("if (this == $$o)").addStatement("return true").endControlFlow()
+				.beginControlFlow("if (!($$o instanceof $T))", snapshotType).addStatement("return false")
+				.endControlFlow().addStatement("$T $$that = ($T) $$o", snapshotType, snapshotType);
+		List<CodeBlock> equalFields = new ArrayList<>();
+		MethodSpec.Builder hashCode = MethodSpec.methodBuilder("hashCode").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(TypeName.INT).addStatement("int $$h = 0");
+		MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC);
+		CodeBlock.Builder toString = CodeBlock.builder().add("return ");
+		for (int i = 0; i < instanceFields.size(); i++) {
+			FieldAdapter<?> f = instanceFields.get(i);
+			snapshotBuilder.addField(f.getType(), f.getName(), Modifier.PRIVATE, Modifier.FINAL);
+			constructor.addParameter(f.getType(), f.getName()).addStatement("this.$L = $L", f.getName(),
+					f.getName());
+			snapshotBuilder.addMethod(MethodSpec.methodBuilder(f.getName()).addModifiers(Modifier.PUBLIC)
+					.returns(f.getType()).addStatement("return this.$L", f.getName()).build());
+			toString.add("$S + this.$L + ", (i == 0 ? SNAPSHOT_TYPE + "[" : ", ") + f.getName() + "=", f.getName());
+			equalFields.add(equal(f.getType(), f.getName()));
+			hashCode.addStatement("$$h = 31 * $$h + $L", hash(f.getType(), f.getName()));
+		}
+		snapshotBuilder.addMethod(equals.addStatement("return $L",
+				equalFields.isEmpty() ? CodeBlock.of("true") : CodeBlock.join(equalFields, "$W&& ")).build());
+		snapshotBuilder.addMethod(hashCode.addStatement("return $$h").build());
+		snapshotBuilder.addMethod(constructor.build());
+		snapshotBuilder.addMethod(MethodSpec.methodBuilder("toString").addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC).returns(String.class)
+				.addStatement(toString.add("$S", (instanceFields.isEmpty() ? SNAPSHOT_TYPE + "[" : "") + "]").build())
+				.build());
+		typeBuilder.addType(snapshotBuilder.build());
+
+		CodeBlock values = instanceFields.stream().map(f -> FieldAccess.read(f, "instance", handles))
+				.collect(CodeBlock.joining(", "));
+		typeBuilder.addMethod(MethodSpec.methodBuilder("snapshot").addModifiers(Modifier.PUBLIC)
+				.returns(snapshotType).addStatement("return new $T($L)", snapshotType, values).build());
+
+		MethodSpec.Builder restore = MethodSpec.methodBuilder("restore").addModifiers(Modifier.PUBLIC)
+				.addParameter(snapshotType, "snapshot");
+		for (FieldAdapter<?> f : instanceFields) {
+			restore.addCode(FieldAccess.write(f, "instance", CodeBlock.of("snapshot.$L", f.getName()), handles))
+					.addCode(DirtyTracking.markIfTracked(f, fields, options));
+		}
+		typeBuilder.addMethod(restore.build());
+	}
+
+	/**
+	 * Creates an expression comparing a component with the component of
+	 * {@code $that} like a record
+	 *
+	 * @param type The type of the component
+	 * @param name The name of the component
+	 * @return The boolean expression
+	 */
+	private static CodeBlock equal(TypeName type, String name) {
+		if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+			return CodeBlock.of("$T.compare(this.$L, $$that.$L) == 0", type.box(), name, name);
+		} else if (type.isPrimitive()) {
+			return CodeBlock.of("this.$L == $$that.$L", name, name);
+		}
+		return CodeBlock.of("$T.equals(this.$L, $$that.$L)", Objects.class, name, name);
+	}
+
+	/**
+	 * Creates an expression computing the hash code of a component without boxing
+	 *
+	 * @param type The type of the component
+	 * @param name The name of the component
+	 * @return The int expression
+	 */
+	private static CodeBlock hash(TypeName type, String name) {
+		if (type.isPrimitive()) {
+			return CodeBlock.of("$T.hashCode(this.$L)", type.box(), name);
+		}
+		return CodeBlock.of("$T.hashCode(this.$L)", Objects.class, name);
+	}
+}
@@ -0,0 +1,130 @@
+package dev.bodewig.mimic.generator;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#STATE_EQUALITY}: static
+ * {@code stateEquals}, {@code stateHash}, {@code diff} and {@code visitDiff}
+ * methods over all instance fields, including inherited ones.
+ * <p>
+ * Primitives are compared without boxing, floating point values like
+ * {@link Double#compare(double, double)}. Arrays are compared by content,
+ * other references with {@link Object#equals(Object)}. {@code diff} returns the
+ * changed fields as a {@code Set} of {@code Fields} constants like
+ * {@code dirtyFields()} of {@link MimicFeature#DIRTY_TRACKING}, regardless of
+ * the number of fields; {@code visitDiff} reports them without allocating.
+ */
+class StateMethods {
+
+	/**
+	 * Default constructor
+	 */
+	private StateMethods() {
+	}
+
+	/**
+	 * Adds the state methods to the Mimic
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param fieldsType  The name of the {@code Fields} enum
+	 * @param fields      The non-constant fields of the model
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, ClassName fieldsType,
+			List<FieldAdapter<?>> fields, Handles handles) {
+		TypeName type = model.getTypeName();
+		TypeName setType = ParameterizedTypeName.get(ClassName.get(Set.class), fieldsType);
+
+		MethodSpec.Builder stateEquals = MethodSpec.methodBuilder("stateEquals")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC).returns(TypeName.BOOLEAN).addParameter(type, "a")
+				.addParameter(type, "b").beginControlFlow("if (a == b)").addStatement("return true")
+				.endControlFlow().beginControlFlow("if (a == null || b == null)").addStatement("return false")
+				.endControlFlow();
+		MethodSpec.Builder stateHash = MethodSpec.methodBuilder("stateHash")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC).returns(TypeName.INT).addParameter(type, "o")
+				.beginControlFlow("if (o == null)").addStatement("return 0").endControlFlow()
+				.addStatement("int hash = 1");
+		MethodSpec.Builder diff = MethodSpec.methodBuilder("diff").addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(setType).addParameter(type, "a").addParameter(type, "b")
+				.addStatement("$T.requireNonNull(a)", Objects.class)
+				.addStatement("$T.requireNonNull(b)", Objects.class)
+				.addStatement("$T changed = $T.noneOf($T.class)", setType, EnumSet.class, fieldsType);
+		MethodSpec.Builder visitDiff = MethodSpec.methodBuilder("visitDiff")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC).addParameter(type, "a").addParameter(type, "b")
+				.addParameter(ParameterizedTypeName.get(ClassName.get(Consumer.class), fieldsType), "visitor")
+				.addStatement("$T.requireNonNull(a)", Objects.class)
+				.addStatement("$T.requireNonNull(b)", Objects.class);
+
+		for (FieldAdapter<?> f : fields) {
+			if (f.isStatic()) {
+				continue;
+			}
+			CodeBlock equal = equal(f.getRawType(), FieldAccess.read(f, "a", handles),
+					FieldAccess.read(f, "b", handles));
+			stateEquals.beginControlFlow("if (!$L)", equal).addStatement("return false").endControlFlow();
+			stateHash.addStatement("hash = 31 * hash + $L", hash(f.getRawType(), FieldAccess.read(f, "o", handles)));
+			diff.beginControlFlow("if (!$L)", equal)
+					.addStatement("changed.add($T.$L)", fieldsType, FieldsType.constant(f)).endControlFlow();
+			visitDiff.beginControlFlow("if (!$L)", equal)
+					.addStatement("visitor.accept($T.$L)", fieldsType, FieldsType.constant(f)).endControlFlow();
+		}
+
+		typeBuilder.addMethod(stateEquals.addStatement("return true").build());
+		typeBuilder.addMethod(stateHash.addStatement("return hash").build());
+		typeBuilder.addMethod(diff.addStatement("return changed").build());
+		typeBuilder.addMethod(visitDiff.build());
+	}
+
+	/**
+	 * Creates an expression comparing two values of a type
+	 *
+	 * @param type The raw type of the values
+	 * @param a    The expression of the first value
+	 * @param b    The expression of the second value
+	 * @return The boolean expression
+	 */
+	private static CodeBlock equal(TypeName type, CodeBlock a, CodeBlock b) {
+		if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+			return CodeBlock.of("($T.compare($L, $L) == 0)", type.box(), a, b);
+		} else if (type.isPrimitive()) {
+			return CodeBlock.of("($L == $L)", a, b);
+		} else if (type instanceof ArrayTypeName array) {
+			String method = array.componentType.isPrimitive() ? "equals" : "deepEquals";
+			return CodeBlock.of("$T.$L($L, $L)", Arrays.class, method, a, b);
+		}
+		return CodeBlock.of("$T.equals($L, $L)", Objects.class, a, b);
+	}
+
+	/**
+	 * Creates an expression computing the hash code of a value
+	 *
+	 * @param type  The raw type of the value
+	 * @param value The expression of the value
+	 * @return The int expression
+	 */
+	private static CodeBlock hash(TypeName type, CodeBlock value) {
+		if (type.isPrimitive()) {
+			return CodeBlock.of("$T.hashCode($L)", type.box(), value);
+		} else if (type instanceof ArrayTypeName array) {
+			String method = array.componentType.isPrimitive() ? "hashCode" : "deepHashCode";
+			return CodeBlock.of("$T.$L($L)", Arrays.class, method, value);
+		}
+		return CodeBlock.of("$T.hashCode($L)", Objects.class, value);
+	}
+}
@@ -0,0 +1,39 @@
+package dev.bodewig.mimic.generator;
+
+import javax.lang.model.element.Modifier;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Creates the methods of {@link MimicFeature#STATIC_ACCESSORS}: static getters
+ * and setters taking the instance as first parameter, so no Mimic has to be
+ * allocated to access a field.
+ */
+class StaticAccessors {
+
+	/**
+	 * Default constructor
+	 */
+	private StaticAccessors() {
+	}
+
+	/**
+	 * Adds the static getter and setter for the given instance field
+	 *
+	 * @param typeBuilder The builder of the Mimic type
+	 * @param model       The model of the Mimic
+	 * @param f           The field to create the accessors for
+	 * @param handles     The handles of the Mimic
+	 */
+	static void addTo(TypeSpec.Builder typeBuilder, ModelAdapter<?> model, FieldAdapter<?> f, Handles handles) {
+		String name = MimicGenerator.pascalCase(f.getName());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("get" + name).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.returns(f.getType()).addParameter(model.getTypeName(), "o")
+				.addStatement("return $L", FieldAccess.read(f, "o", handles)).build());
+		typeBuilder.addMethod(MethodSpec.methodBuilder("set" + name).addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(model.getTypeName(), "o").addParameter(f.getType(), "value")
+				.addCode(FieldAccess.write(f, "o", CodeBlock.of("value"), handles)).build());
+	}
+}
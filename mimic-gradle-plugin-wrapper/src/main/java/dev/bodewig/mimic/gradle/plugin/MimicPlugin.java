@@ -6,7 +6,6 @@ import java.util.List;
 
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.plugins.JavaPlugin;
@@ -21,23 +20,31 @@ import dev.bodewig.mimic.annotation.processor.MimicAnnotationProcessor;
  * A Mimic is a generated wrapper with type-safe accessors using Java reflection
  * to get and set non-public fields.
  * <p>
- * This plugin automatically configures the Mimic annotation processor to create
- * Mimics for all annotated and configured classes (see
- * {@link MimicPluginExtension}). It also adds the Mimic annotation as a compile
- * dependency.
+ * This plugin registers the cacheable {@value #TASK_NAME} task to create
+ * Mimics for all configured classes (see {@link MimicPluginExtension}) and
+ * configures the Mimic annotation processor to create Mimics for all annotated
+ * classes. It also adds the Mimic annotation as a compile dependency.
  * <p>
- * Use the DSL extension to configure the annotation processor:
+ * Use the DSL extension to configure the {@value #TASK_NAME} task:
  *
  * <pre>
  * mimic {
  *   packageName = 'my.default.target.package'
+ *   accessor = 'VAR_HANDLE'
+ *   features = ['ATOMICS']
  *   classes = [
- *         'my.third.party.class.Name',
- *         'my.own.custom.class.Name'
+ *         'my.third.party.class.Name'
  *   ]
  * }
  * </pre>
  *
+ * The {@code classes} found on the compile classpath are created by the
+ * {@value #TASK_NAME} task. All {@code classes} are also passed to the
+ * annotation processor, which creates the Mimics of the configured classes of
+ * the project itself. The {@code packageName}, {@code accessor} and
+ * {@code features} are passed to the annotation processor as defaults for the
+ * annotated classes.
+ *
  * The generated classes are written in Java.
  */
 public abstract class MimicPlugin implements Plugin<Project> {
@@ -55,6 +62,8 @@ public abstract class MimicPlugin implements Plugin<Project> {
 	 */
 	public static final String EXTENSION_NAME = "mimic";
 
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "generated/sources/mimic/java/main";
+
 	/**
 	 * The name of the registered task
 	 */
@@ -94,17 +103,39 @@ public abstract class MimicPlugin implements Plugin<Project> {
 				.getByName(main.getAnnotationProcessorConfigurationName());
 		mainProcessorConfig.extendsFrom(processorConfig);
 
-		TaskProvider<Task> compileJava = project.getTasks().named(JavaPlugin.COMPILE_JAVA_TASK_NAME);
-		compileJava.configure(t -> {
-			JavaCompile task = (JavaCompile) t;
+		// generate the configured classes from the compile classpath
+		extension.getOutputDirectory().convention(project.getLayout().getBuildDirectory().dir(DEFAULT_OUTPUT_DIRECTORY));
+		TaskProvider<SpawnMimicsTask> spawnMimics = project.getTasks().register(TASK_NAME, SpawnMimicsTask.class,
+				task -> {
+					task.setGroup("build");
+					task.setDescription("Creates Mimics for the configured classes.");
+					task.getClasspath().from(main.getCompileClasspath());
+					task.getClasses().set(extension.getClasses());
+					task.getPackageName().set(extension.getPackageName());
+					task.getAccessor().set(extension.getAccessor());
+					task.getFeatures().set(extension.getFeatures());
+					task.getOutputDirectory().set(extension.getOutputDirectory());
+				});
+		main.getJava().srcDir(spawnMimics.flatMap(SpawnMimicsTask::getOutputDirectory));
+
+		project.getTasks().named(JavaPlugin.COMPILE_JAVA_TASK_NAME, JavaCompile.class).configure(task -> {
 			// add the extension values as annotation processor arguments
 			List<String> args = new ArrayList<>();
 			if (extension.getPackageName().isPresent()) {
 				args.add("-A" + MimicAnnotationProcessor.OPTION_PACKAGE_NAME + "=" + extension.getPackageName().get());
 			}
-			if (extension.getClasses().isPresent()) {
+			if (extension.getClasses().isPresent() && !extension.getClasses().get().isEmpty()) {
+				// classes of the compile classpath are created by the spawnMimics task
 				String classList = String.join(",", extension.getClasses().get());
 				args.add("-A" + MimicAnnotationProcessor.OPTION_MIMIC_CLASSES + "=" + classList);
+				args.add("-A" + MimicAnnotationProcessor.OPTION_SOURCE_CLASSES_ONLY + "=true");
+			}
+			if (extension.getAccessor().isPresent()) {
+				args.add("-A" + MimicAnnotationProcessor.OPTION_ACCESSOR + "=" + extension.getAccessor().get());
+			}
+			if (extension.getFeatures().isPresent() && !extension.getFeatures().get().isEmpty()) {
+				String featureList = String.join(",", extension.getFeatures().get());
+				args.add("-A" + MimicAnnotationProcessor.OPTION_FEATURES + "=" + featureList);
 			}
 			task.getOptions().getCompilerArgs().addAll(args);
 		});
@@ -1,5 +1,6 @@
 package dev.bodewig.mimic.gradle.plugin;
 
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 
@@ -8,6 +9,9 @@ import org.gradle.api.provider.Property;
  *
  * @see #getClasses
  * @see #getPackageName
+ * @see #getAccessor
+ * @see #getFeatures
+ * @see #getOutputDirectory
  */
 public abstract class MimicPluginExtension {
 
@@ -26,10 +30,37 @@ public abstract class MimicPluginExtension {
 	public abstract Property<String> getPackageName();
 
 	/**
-	 * List of fully qualified class names to create Mimics for. If you need Mimics
-	 * for your own classes, the Mimic annotation can be used instead.
+	 * List of fully qualified class names to create Mimics for. The classes are
+	 * read from the compile classpath by the {@code spawnMimics} task. Use the
+	 * Mimic annotation for classes of the project itself.
 	 *
 	 * @return The classes to create Mimics for
 	 */
 	public abstract ListProperty<String> getClasses();
+
+	/**
+	 * The default strategy the generated Mimics use to access non-public fields,
+	 * either {@code REFLECTION} or {@code VAR_HANDLE}. Can be overwritten if the
+	 * Mimic annotation is used.
+	 *
+	 * @return The default accessor
+	 */
+	public abstract Property<String> getAccessor();
+
+	/**
+	 * List of optional features of the generated Mimics, e.g. {@code ATOMICS}.
+	 * Mimic annotations can enable additional features.
+	 *
+	 * @return The enabled features
+	 */
+	public abstract ListProperty<String> getFeatures();
+
+	/**
+	 * The directory the {@code spawnMimics} task writes the Mimics of the
+	 * configured classes to. Defaults to
+	 * {@code build/generated/sources/mimic/java/main}.
+	 *
+	 * @return The output directory
+	 */
+	public abstract DirectoryProperty getOutputDirectory();
 }
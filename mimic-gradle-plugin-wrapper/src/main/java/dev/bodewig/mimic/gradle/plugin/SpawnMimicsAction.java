@@ -0,0 +1,149 @@
+package dev.bodewig.mimic.gradle.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.ClassPath;
+import dev.bodewig.mimic.generator.MimicFeature;
+import dev.bodewig.mimic.generator.MimicGenerator;
+import dev.bodewig.mimic.generator.MimicOptions;
+import dev.bodewig.mimic.generator.ModelAdapter;
+
+/**
+ * Creates the Mimics of one batch of classes submitted by the
+ * {@link SpawnMimicsTask}
+ */
+public abstract class SpawnMimicsAction implements WorkAction<SpawnMimicsAction.Parameters> {
+
+	private static final Logger LOGGER = Logging.getLogger(SpawnMimicsAction.class);
+
+	/**
+	 * Default constructor
+	 */
+	public SpawnMimicsAction() {
+	}
+
+	@Override
+	public void execute() {
+		Parameters parameters = getParameters();
+		String packageName = parameters.getPackageName().get();
+		File outputDirectory = parameters.getOutputDirectory().get().getAsFile();
+		Set<MimicFeature> features = parseFeatures(parameters);
+		AccessorMode accessor = parseAccessor(parameters.getAccessor().getOrNull());
+
+		String name = null;
+		try (ClassPath classPath = new ClassPath(new ArrayList<>(parameters.getClasspath().getFiles()))) {
+			MimicOptions options = new MimicOptions(accessor, features);
+			if (MimicGenerator.delegatesToMimics(features)) {
+				// Mimics may delegate to the Mimics of all configured classes, not only this batch
+				List<String> allClasses = parameters.getAllClasses().get();
+				options = new MimicOptions(accessor, features, MimicGenerator.buildMimicNames(allClasses, packageName),
+						MimicGenerator.findAllocatable(classPath, allClasses));
+			}
+			for (String className : parameters.getClasses().get()) {
+				name = className;
+				MimicGenerator.createMimicFromClassFile(classPath, className, packageName, options, outputDirectory);
+				List<String> unencoded = MimicGenerator.findUnencodedFields(
+						ModelAdapter.fromClassFile(classPath, className), options);
+				if (!unencoded.isEmpty()) {
+					LOGGER.warn("Fields " + unencoded + " of " + className
+							+ " cannot be encoded and are skipped by the binary codec");
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Error creating Mimic for " + name, e);
+		}
+	}
+
+	private static AccessorMode parseAccessor(String value) {
+		if (value == null || value.isBlank()) {
+			return AccessorMode.REFLECTION;
+		}
+		try {
+			return AccessorMode.valueOf(value.strip());
+		} catch (IllegalArgumentException e) {
+			throw new RuntimeException("Unknown accessor " + value + "!", e);
+		}
+	}
+
+	private static Set<MimicFeature> parseFeatures(Parameters parameters) {
+		Set<MimicFeature> features = EnumSet.noneOf(MimicFeature.class);
+		for (String feature : parameters.getFeatures().get()) {
+			try {
+				features.add(MimicFeature.valueOf(feature.strip()));
+			} catch (IllegalArgumentException e) {
+				throw new RuntimeException("Unknown feature " + feature + "!", e);
+			}
+		}
+		return features;
+	}
+
+	/**
+	 * The parameters of a {@link SpawnMimicsAction}
+	 */
+	public interface Parameters extends WorkParameters {
+
+		/**
+		 * The classpath to read the classes from
+		 *
+		 * @return The classpath
+		 */
+		ConfigurableFileCollection getClasspath();
+
+		/**
+		 * The classes of this batch
+		 *
+		 * @return The class names
+		 */
+		ListProperty<String> getClasses();
+
+		/**
+		 * The classes of all batches
+		 *
+		 * @return The class names
+		 */
+		ListProperty<String> getAllClasses();
+
+		/**
+		 * The target package of the generated Mimics
+		 *
+		 * @return The target package name
+		 */
+		Property<String> getPackageName();
+
+		/**
+		 * The strategy to access non-public fields
+		 *
+		 * @return The accessor
+		 */
+		Property<String> getAccessor();
+
+		/**
+		 * The enabled features
+		 *
+		 * @return The features
+		 */
+		ListProperty<String> getFeatures();
+
+		/**
+		 * The directory to write the Mimics to
+		 *
+		 * @return The output directory
+		 */
+		DirectoryProperty getOutputDirectory();
+	}
+}
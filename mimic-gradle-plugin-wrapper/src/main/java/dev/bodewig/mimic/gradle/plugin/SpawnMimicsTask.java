@@ -0,0 +1,213 @@
+package dev.bodewig.mimic.gradle.plugin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import dev.bodewig.mimic.generator.ClassPath;
+import dev.bodewig.mimic.generator.MimicGenerator;
+
+/**
+ * Creates Mimics for the configured classes from the class files of a
+ * classpath, without loading the classes
+ * <p>
+ * Configured classes that are not found on the classpath are skipped, they are
+ * classes of the project itself and created by the annotation processor. The
+ * task fails if the Mimics of two configured classes would be written to the
+ * same file.
+ * <p>
+ * The classes are split into one batch per available processor and each batch
+ * is generated by a {@link SpawnMimicsAction} on the Gradle worker pool. The
+ * classpath uses runtime normalization, so changes of private fields invalidate
+ * the cached output.
+ */
+@CacheableTask
+public abstract class SpawnMimicsTask extends DefaultTask {
+
+	/**
+	 * Default constructor
+	 */
+	public SpawnMimicsTask() {
+	}
+
+	/**
+	 * The classpath to read the configured classes and their superclasses from
+	 *
+	 * @return The classpath
+	 */
+	@Classpath
+	public abstract ConfigurableFileCollection getClasspath();
+
+	/**
+	 * List of fully qualified class names to create Mimics for
+	 *
+	 * @return The classes to create Mimics for
+	 */
+	@Input
+	public abstract ListProperty<String> getClasses();
+
+	/**
+	 * The target package of the generated Mimics, required if classes are
+	 * configured
+	 *
+	 * @return The target package name
+	 */
+	@Input
+	@Optional
+	public abstract Property<String> getPackageName();
+
+	/**
+	 * The strategy the generated Mimics use to access non-public fields
+	 *
+	 * @return The accessor
+	 */
+	@Input
+	@Optional
+	public abstract Property<String> getAccessor();
+
+	/**
+	 * List of optional features of the generated Mimics
+	 *
+	 * @return The enabled features
+	 */
+	@Input
+	public abstract ListProperty<String> getFeatures();
+
+	/**
+	 * The directory the generated Mimics are written to, its previous content is
+	 * deleted
+	 *
+	 * @return The output directory
+	 */
+	@OutputDirectory
+	public abstract DirectoryProperty getOutputDirectory();
+
+	/**
+	 * The worker executor to generate the Mimics in parallel
+	 *
+	 * @return The injected worker executor
+	 */
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	/**
+	 * The file system operations to clean the output directory
+	 *
+	 * @return The injected file system operations
+	 */
+	@Inject
+	protected abstract FileSystemOperations getFileSystemOperations();
+
+	/**
+	 * Deletes previously generated Mimics and submits the configured classes found
+	 * on the classpath to the worker pool
+	 */
+	@TaskAction
+	public void spawnMimics() {
+		getFileSystemOperations().delete(spec -> spec.delete(getOutputDirectory()));
+		getOutputDirectory().get().getAsFile().mkdirs();
+
+		if (getClasses().get().isEmpty()) {
+			return;
+		}
+		if (!getPackageName().isPresent()) {
+			throw new RuntimeException("Target package for Mimics is missing! Define a packageName in the "
+					+ MimicPlugin.EXTENSION_NAME + " extension.");
+		}
+		checkPaths(getClasses().get(), getPackageName().get());
+		List<String> classes = findClasses(getClasses().get());
+		if (classes.isEmpty()) {
+			return;
+		}
+		int batchCount = Math.min(classes.size(), Runtime.getRuntime().availableProcessors());
+		List<List<String>> batches = new ArrayList<>();
+		for (int i = 0; i < batchCount; i++) {
+			batches.add(new ArrayList<>());
+		}
+		for (int i = 0; i < classes.size(); i++) {
+			batches.get(i % batchCount).add(classes.get(i));
+		}
+
+		WorkQueue queue = getWorkerExecutor().noIsolation();
+		for (List<String> batch : batches) {
+			queue.submit(SpawnMimicsAction.class, parameters -> {
+				parameters.getClasspath().from(getClasspath());
+				parameters.getClasses().set(batch);
+				parameters.getAllClasses().set(classes);
+				parameters.getPackageName().set(getPackageName());
+				parameters.getAccessor().set(getAccessor());
+				parameters.getFeatures().set(getFeatures());
+				parameters.getOutputDirectory().set(getOutputDirectory());
+			});
+		}
+	}
+
+	/**
+	 * Checks that no two configured classes share the path of their Mimic
+	 *
+	 * @param classes     The configured classes
+	 * @param packageName The target package of the Mimics
+	 */
+	private static void checkPaths(List<String> classes, String packageName) {
+		Map<String, String> owners = new HashMap<>();
+		for (String className : new TreeSet<>(classes)) {
+			String path = MimicGenerator.buildQualifiedMimicName(packageName, simpleName(className)).replace('.', '/')
+					+ ".java";
+			String other = owners.putIfAbsent(path, className);
+			if (other != null) {
+				throw new RuntimeException(
+						"Mimics of " + other + " and " + className + " would both be written to " + path);
+			}
+		}
+	}
+
+	/**
+	 * Finds the configured classes on the classpath
+	 *
+	 * @param classes The configured classes
+	 * @return The classes with a class file on the classpath
+	 */
+	private List<String> findClasses(List<String> classes) {
+		List<String> found = new ArrayList<>();
+		try (ClassPath classPath = new ClassPath(new ArrayList<>(getClasspath().getFiles()))) {
+			for (String className : classes) {
+				if (classPath.read(className) != null) {
+					found.add(className);
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Could not read classpath", e);
+		}
+		return found;
+	}
+
+	/**
+	 * Gets the simple name of a class from its binary name
+	 *
+	 * @param className The binary name, nested classes are separated by {@code $}
+	 * @return The simple name
+	 */
+	private static String simpleName(String className) {
+		return className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+	}
+}
@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.MimicOptions;
+import dev.bodewig.mimic.gradle.test.generated.MimicOptionsMimic;
 import dev.bodewig.mimic.gradle.test.generated.MyTestClassMimic;
 import dev.bodewig.mimic.gradle.test.generated.MySubClassMimic;
 
@@ -53,4 +56,11 @@ class MimicTest {
 		mimic.setName("private");
 		assertEquals("private", mimic.getName());
 	}
+
+	@Test
+	void getPrivateDependency() {
+		MimicOptions options = new MimicOptions(AccessorMode.VAR_HANDLE);
+		MimicOptionsMimic mimic = new MimicOptionsMimic(options);
+		assertEquals(AccessorMode.VAR_HANDLE, mimic.getAccessorMode());
+	}
 }
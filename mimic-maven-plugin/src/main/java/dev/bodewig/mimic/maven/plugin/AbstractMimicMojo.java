@@ -0,0 +1,328 @@
+package dev.bodewig.mimic.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+import dev.bodewig.mimic.generator.ClassFile;
+import dev.bodewig.mimic.generator.ClassPath;
+import dev.bodewig.mimic.generator.MimicFeature;
+import dev.bodewig.mimic.generator.MimicGenerator;
+import dev.bodewig.mimic.generator.MimicOptions;
+import dev.bodewig.mimic.generator.ModelAdapter;
+
+/**
+ * Base class of the Mimic goals
+ * <p>
+ * The configured classes are read from the class files of the compile classpath
+ * and build output directory. They are neither loaded nor initialized.
+ * <p>
+ * A fingerprint of each class, its superclasses and the configuration is kept
+ * in the {@link #stateFile}. Mimics are only regenerated if the fingerprint
+ * changed and Mimics of classes removed from the configuration are deleted.
+ * <p>
+ * Mimics are created concurrently on {@link #threads} threads. The results are
+ * collected in the order of the class names, so the state file and errors do
+ * not depend on the scheduling.
+ */
+public abstract class AbstractMimicMojo extends MimicMojoModel {
+
+	/**
+	 * Default constructor
+	 */
+	public AbstractMimicMojo() {
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		outputDirectory.mkdirs();
+		MimicState previous = loadState();
+		MimicState current = new MimicState();
+		int generated = 0;
+
+		Map<String, String> paths = new TreeMap<>();
+		Map<String, String> owners = new HashMap<>();
+		for (String className : new TreeSet<>(classes)) {
+			String path = MimicGenerator.buildQualifiedMimicName(packageName, simpleName(className)).replace('.', '/')
+					+ ".java";
+			String other = owners.putIfAbsent(path, className);
+			if (other != null) {
+				throw new MojoExecutionException(
+						"Mimics of " + other + " and " + className + " would both be written to " + path);
+			}
+			paths.put(className, path);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(getThreadCount());
+		try (ClassPath classPath = createClassPath()) {
+			MimicOptions options = createOptions(classPath);
+			Map<String, Future<Result>> results = new LinkedHashMap<>();
+			paths.forEach((className, path) -> results.put(className,
+					executor.submit(() -> generate(classPath, className, path, options, previous))));
+			for (Map.Entry<String, Future<Result>> entry : results.entrySet()) {
+				Result result = await(entry.getKey(), entry.getValue());
+				current.put(entry.getKey(), result.fingerprint(), paths.get(entry.getKey()));
+				if (result.generated()) {
+					generated++;
+				}
+			}
+		} catch (IOException e1) {
+			throw new MojoExecutionException("Could not close classpath", e1);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		int removed = 0;
+		for (String className : previous.getClassNames()) {
+			String path = previous.getPath(className);
+			if (!current.containsPath(path) && new File(outputDirectory, path).delete()) {
+				removed++;
+			}
+		}
+		if (!current.equals(previous)) {
+			saveState(current);
+		}
+		getLog().info("Generated " + generated + " Mimics, " + (classes.size() - generated) + " up to date, "
+				+ removed + " removed");
+		mavenProject.addCompileSourceRoot(outputDirectory.getPath());
+	}
+
+	/**
+	 * Creates the Mimic for a class unless its fingerprint did not change since the
+	 * previous build and the Mimic still exists. An existing Mimic with identical
+	 * content is not rewritten. Fields the binary codec cannot encode are logged
+	 * as a warning.
+	 * <p>
+	 * This method is called concurrently for different classes.
+	 *
+	 * @param classPath The class path to read class files from
+	 * @param className The binary name of the class
+	 * @param path      The path of the Mimic relative to the output directory
+	 * @param options   The options of the Mimic
+	 * @param previous  The state of the previous build
+	 * @return The fingerprint and if the Mimic file was written
+	 * @throws MojoExecutionException If a class file cannot be read or the Mimic
+	 *                                cannot be written
+	 */
+	protected Result generate(ClassPath classPath, String className, String path, MimicOptions options,
+			MimicState previous) throws MojoExecutionException {
+		String fingerprint = fingerprint(classPath, className, options);
+		if (fingerprint.equals(previous.getFingerprint(className)) && new File(outputDirectory, path).isFile()) {
+			return new Result(fingerprint, false);
+		}
+		try {
+			boolean written = MimicGenerator.createMimicFromClassFile(classPath, className, packageName, options,
+					outputDirectory);
+			List<String> unencoded = MimicGenerator.findUnencodedFields(
+					ModelAdapter.fromClassFile(classPath, className), options);
+			if (!unencoded.isEmpty()) {
+				getLog().warn("Fields " + unencoded + " of " + className
+						+ " cannot be encoded and are skipped by the binary codec");
+			}
+			return new Result(fingerprint, written);
+		} catch (IOException e) {
+			throw new MojoExecutionException("Could not write Mimic of " + className + " to " + outputDirectory, e);
+		}
+	}
+
+	/**
+	 * Waits for the Mimic of a class to be created
+	 *
+	 * @param className The binary name of the class
+	 * @param future    The pending result
+	 * @return The result
+	 * @throws MojoExecutionException If creating the Mimic failed or the thread is
+	 *                                interrupted
+	 */
+	protected Result await(String className, Future<Result> future) throws MojoExecutionException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MojoExecutionException("Interrupted while creating Mimic of " + className, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof MojoExecutionException cause) {
+				throw cause;
+			}
+			throw new MojoExecutionException("Could not create Mimic of " + className, e.getCause());
+		}
+	}
+
+	/**
+	 * Gets the number of threads used to create Mimics
+	 *
+	 * @return {@link #threads} or the number of available processors if it is not
+	 *         positive
+	 */
+	protected int getThreadCount() {
+		int count = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		return Math.max(1, Math.min(count, classes.size()));
+	}
+
+	/**
+	 * Checks if the Mimics delegate to each other, e.g. with
+	 * {@link MimicFeature#DEEP_CLONE}
+	 *
+	 * @return If a delegating feature is enabled
+	 */
+	protected boolean delegatesToMimics() {
+		return MimicGenerator.delegatesToMimics(features);
+	}
+
+	/**
+	 * Creates the options of the Mimics. If the Mimics delegate to each other, the
+	 * names of the Mimics of all configured classes and the classes whose Mimics
+	 * can allocate instances are included.
+	 *
+	 * @param classPath The class path to read class files from
+	 * @return The options
+	 * @throws MojoExecutionException If a class file cannot be read
+	 */
+	protected MimicOptions createOptions(ClassPath classPath) throws MojoExecutionException {
+		if (!delegatesToMimics()) {
+			return new MimicOptions(accessor, features);
+		}
+		try {
+			return new MimicOptions(accessor, features, MimicGenerator.buildMimicNames(classes, packageName),
+					MimicGenerator.findAllocatable(classPath, classes));
+		} catch (IOException | IllegalArgumentException e) {
+			throw new MojoExecutionException("Could not read the configured classes", e);
+		}
+	}
+
+	/**
+	 * Loads the state of the previous build from the {@link #stateFile}
+	 *
+	 * @return The previous state, empty if no state file exists or it cannot be
+	 *         read
+	 */
+	protected MimicState loadState() {
+		try {
+			return MimicState.load(stateFile);
+		} catch (IOException | IllegalArgumentException e) {
+			getLog().warn("Could not read " + stateFile + ", regenerating all Mimics");
+			return new MimicState();
+		}
+	}
+
+	/**
+	 * Saves the state of this build to the {@link #stateFile}
+	 *
+	 * @param state The current state
+	 * @throws MojoExecutionException If the state file cannot be written
+	 */
+	protected void saveState(MimicState state) throws MojoExecutionException {
+		try {
+			state.save(stateFile);
+		} catch (IOException e) {
+			throw new MojoExecutionException("Could not write " + stateFile, e);
+		}
+	}
+
+	/**
+	 * Computes a fingerprint of the given class over the bytes of the class and
+	 * its superclasses, the plugin version and the configuration of the generated
+	 * Mimic
+	 *
+	 * @param classPath The class path to read class files from
+	 * @param className The binary name of the class
+	 * @param options   The options of the Mimic
+	 * @return The hex encoded SHA-256 fingerprint
+	 * @throws MojoExecutionException If a class file cannot be read
+	 */
+	protected String fingerprint(ClassPath classPath, String className, MimicOptions options)
+			throws MojoExecutionException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new MojoExecutionException("SHA-256 is not supported", e);
+		}
+		String config = pluginVersion + ";" + packageName + ";" + accessor + ";" + new TreeSet<>(features);
+		if (delegatesToMimics()) {
+			// Mimics may delegate to the Mimics of the other configured classes
+			config += ";" + new TreeSet<>(classes) + ";" + new TreeSet<>(options.getAllocatable());
+		}
+		digest.update(config.getBytes(StandardCharsets.UTF_8));
+		for (String name = className; name != null;) {
+			byte[] bytes;
+			try {
+				bytes = classPath.read(name);
+			} catch (IOException e) {
+				throw new MojoExecutionException("Could not read class file of " + name, e);
+			}
+			if (bytes == null) {
+				throw new MojoExecutionException("Could not find class " + name);
+			}
+			digest.update(name.getBytes(StandardCharsets.UTF_8));
+			digest.update(bytes);
+			try {
+				name = ClassFile.parse(bytes).getSuperclassName();
+			} catch (IllegalArgumentException e) {
+				throw new MojoExecutionException("Could not parse class file of " + name, e);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Creates a class path of all jars from the compile classpath and the build
+	 * output directory
+	 *
+	 * @return The class path
+	 * @throws MojoExecutionException See {@link ClassPath#ClassPath(List)} and
+	 *                                {@link org.apache.maven.project.MavenProject#getCompileClasspathElements()
+	 *                                MavenProject.getCompileClasspathElements()}
+	 */
+	@SuppressWarnings("unchecked")
+	protected ClassPath createClassPath() throws MojoExecutionException {
+		List<File> elements = new ArrayList<>();
+		try {
+			for (String element : (List<String>) mavenProject.getCompileClasspathElements()) {
+				elements.add(new File(element));
+			}
+			elements.add(new File(mavenProject.getBuild().getOutputDirectory()));
+			return new ClassPath(elements);
+		} catch (IOException | DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException("Could not create classpath", e);
+		}
+	}
+
+	/**
+	 * Gets the simple name of a class from its binary name
+	 *
+	 * @param className The binary name, nested classes are separated by {@code $}
+	 * @return The simple name
+	 */
+	protected static String simpleName(String className) {
+		return className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+	}
+
+	/**
+	 * The result of {@link AbstractMimicMojo#generate(ClassPath, String, String, MimicOptions, MimicState)
+	 * generate}
+	 *
+	 * @param fingerprint The fingerprint of the class
+	 * @param generated   If the Mimic file was written
+	 */
+	protected record Result(String fingerprint, boolean generated) {
+	}
+}
@@ -0,0 +1,25 @@
+package dev.bodewig.mimic.maven.plugin;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * A Mimic is a generated wrapper with type-safe accessors using Java reflection
+ * to get and set non-public fields.
+ * <p>
+ * This plugin creates Mimics for a configured list of classes from the
+ * project's dependencies, in a configured package, in a configured output
+ * directory.
+ * <p>
+ * Unlike {@link MimicMojo mimic}, this goal does not fork the compile phase.
+ */
+@Mojo(name = "mimic-dependencies", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true, requiresDependencyResolution = ResolutionScope.COMPILE)
+public class MimicDependenciesMojo extends AbstractMimicMojo {
+
+	/**
+	 * Default constructor
+	 */
+	public MimicDependenciesMojo() {
+	}
+}
@@ -1,6 +1,7 @@
 package dev.bodewig.mimic.maven.plugin;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.Set;
 
 import org.apache.maven.execution.MavenSession;
@@ -10,8 +11,11 @@ import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.MimicFeature;
+
 /**
- * The model for the {@link MimicMojo}
+ * The model for the {@link MimicMojo} and {@link MimicDependenciesMojo}
  */
 public abstract class MimicMojoModel extends AbstractMojo {
 
@@ -41,7 +45,7 @@ public abstract class MimicMojoModel extends AbstractMojo {
 
 	/**
 	 * List of fully qualified class names to create Mimics for. The classes must be
-	 * loadable from the compile classpath.
+	 * on the compile classpath.
 	 */
 	@Parameter(required = true)
 	protected Set<String> classes;
@@ -58,4 +62,37 @@ public abstract class MimicMojoModel extends AbstractMojo {
 	 */
 	@Parameter(required = true)
 	protected String packageName;
+
+	/**
+	 * The strategy the generated Mimics use to access non-public fields, either
+	 * {@code REFLECTION} or {@code VAR_HANDLE}
+	 */
+	@Parameter(defaultValue = "REFLECTION")
+	protected AccessorMode accessor;
+
+	/**
+	 * Optional features of the generated Mimics
+	 */
+	@Parameter
+	protected Set<MimicFeature> features = Collections.emptySet();
+
+	/**
+	 * File to store the fingerprints of the configured classes between builds.
+	 * Mimics of unchanged classes are not regenerated.
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/mimic/${mojoExecution.executionId}.state")
+	protected File stateFile;
+
+	/**
+	 * The number of threads creating Mimics concurrently, the number of available
+	 * processors if not positive
+	 */
+	@Parameter(property = "mimic.threads", defaultValue = "0")
+	protected int threads;
+
+	/**
+	 * The version of the plugin, which is part of each fingerprint
+	 */
+	@Parameter(defaultValue = "${plugin.version}", readonly = true)
+	protected String pluginVersion;
 }
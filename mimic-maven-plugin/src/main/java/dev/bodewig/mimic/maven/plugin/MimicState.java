@@ -0,0 +1,145 @@
+package dev.bodewig.mimic.maven.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The fingerprints and generated files of all Mimics created by a single
+ * execution of the {@link MimicMojo}
+ * <p>
+ * The state is persisted between builds to skip classes that did not change
+ * and to delete Mimics of classes that were removed from the configuration.
+ */
+public class MimicState {
+
+	private static final String SEPARATOR = ",";
+
+	private final Map<String, String[]> entries = new TreeMap<>();
+
+	/**
+	 * Default constructor
+	 */
+	public MimicState() {
+	}
+
+	/**
+	 * Reads the state from the given file
+	 *
+	 * @param file The state file
+	 * @return The read state or an empty state if the file does not exist
+	 * @throws IOException If reading the file fails
+	 */
+	public static MimicState load(File file) throws IOException {
+		MimicState state = new MimicState();
+		if (!file.isFile()) {
+			return state;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		for (String className : properties.stringPropertyNames()) {
+			String[] value = properties.getProperty(className).split(SEPARATOR, 2);
+			if (value.length == 2) {
+				state.put(className, value[0], value[1]);
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Writes the state to the given file
+	 *
+	 * @param file The state file
+	 * @throws IOException If writing the file fails
+	 */
+	public void save(File file) throws IOException {
+		file.getParentFile().mkdirs();
+		Properties properties = new Properties();
+		entries.forEach((className, value) -> properties.setProperty(className, value[0] + SEPARATOR + value[1]));
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			properties.store(writer, "Mimic state, do not edit");
+		}
+	}
+
+	/**
+	 * Records the fingerprint and generated file of a class
+	 *
+	 * @param className   The name of the class
+	 * @param fingerprint The fingerprint of the class
+	 * @param path        The path of the generated Mimic relative to the output
+	 *                    directory
+	 */
+	public void put(String className, String fingerprint, String path) {
+		entries.put(className, new String[] { fingerprint, path });
+	}
+
+	/**
+	 * Gets the recorded fingerprint of a class
+	 *
+	 * @param className The name of the class
+	 * @return The fingerprint or {@code null} if the class is not recorded
+	 */
+	public String getFingerprint(String className) {
+		String[] value = entries.get(className);
+		return value == null ? null : value[0];
+	}
+
+	/**
+	 * Gets the recorded path of the Mimic generated for a class
+	 *
+	 * @param className The name of the class
+	 * @return The path relative to the output directory or {@code null} if the
+	 *         class is not recorded
+	 */
+	public String getPath(String className) {
+		String[] value = entries.get(className);
+		return value == null ? null : value[1];
+	}
+
+	/**
+	 * Checks if a Mimic is recorded at the given path
+	 *
+	 * @param path The path relative to the output directory
+	 * @return {@code true} if any class is recorded with this path
+	 */
+	public boolean containsPath(String path) {
+		return entries.values().stream().anyMatch(value -> value[1].equals(path));
+	}
+
+	/**
+	 * Gets the names of all recorded classes
+	 *
+	 * @return The class names in alphabetical order
+	 */
+	public Set<String> getClassNames() {
+		return entries.keySet();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof MimicState)) {
+			return false;
+		}
+		Map<String, String[]> other = ((MimicState) obj).entries;
+		if (!entries.keySet().equals(other.keySet())) {
+			return false;
+		}
+		return entries.entrySet().stream()
+				.allMatch(e -> Arrays.equals(e.getValue(), other.get(e.getKey())));
+	}
+
+	@Override
+	public int hashCode() {
+		return entries.keySet().hashCode();
+	}
+}
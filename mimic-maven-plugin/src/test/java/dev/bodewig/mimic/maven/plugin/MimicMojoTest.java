@@ -0,0 +1,105 @@
+package dev.bodewig.mimic.maven.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.MimicFeature;
+
+class MimicMojoTest {
+
+	private static final long OLD = 1_000_000_000_000L;
+
+	@TempDir
+	File dir;
+
+	@Test
+	void secondRunWritesNothing() throws Exception {
+		File output = new File(dir, "generated");
+		File state = new File(dir, "mimic.state");
+		execute(output, state, Set.of(MyTestClass.class.getName(), MySubClass.class.getName()),
+				Set.of());
+		File testMimic = mimic(output, "MyTestClassMimic");
+		File subMimic = mimic(output, "MySubClassMimic");
+		assertTrue(testMimic.isFile());
+		assertTrue(subMimic.isFile());
+		assertTrue(state.isFile());
+
+		age(testMimic, subMimic, state);
+		execute(output, state, Set.of(MyTestClass.class.getName(), MySubClass.class.getName()),
+				Set.of());
+		assertEquals(OLD, testMimic.lastModified());
+		assertEquals(OLD, subMimic.lastModified());
+		assertEquals(OLD, state.lastModified());
+	}
+
+	@Test
+	void changedConfigurationRegenerates() throws Exception {
+		File output = new File(dir, "generated");
+		File state = new File(dir, "mimic.state");
+		execute(output, state, Set.of(MyTestClass.class.getName()), Set.of());
+		File testMimic = mimic(output, "MyTestClassMimic");
+
+		age(testMimic, state);
+		execute(output, state, Set.of(MyTestClass.class.getName()), EnumSet.of(MimicFeature.SNAPSHOT));
+		assertNotEquals(OLD, testMimic.lastModified());
+		assertNotEquals(OLD, state.lastModified());
+	}
+
+	@Test
+	void removedClassIsDeleted() throws Exception {
+		File output = new File(dir, "generated");
+		File state = new File(dir, "mimic.state");
+		execute(output, state, Set.of(MyTestClass.class.getName(), MySubClass.class.getName()),
+				Set.of());
+		File testMimic = mimic(output, "MyTestClassMimic");
+		File subMimic = mimic(output, "MySubClassMimic");
+
+		age(testMimic);
+		execute(output, state, Set.of(MyTestClass.class.getName()), Set.of());
+		assertFalse(subMimic.exists());
+		assertEquals(OLD, testMimic.lastModified());
+		assertNull(MimicState.load(state).getPath(MySubClass.class.getName()));
+	}
+
+	private static void execute(File output, File state, Set<String> classes, Set<MimicFeature> features)
+			throws MojoExecutionException, MojoFailureException, URISyntaxException {
+		MavenProject project = new MavenProject();
+		project.getBuild().setOutputDirectory(
+				new File(MyTestClass.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+		MimicDependenciesMojo mojo = new MimicDependenciesMojo();
+		mojo.mavenProject = project;
+		mojo.classes = classes;
+		mojo.outputDirectory = output;
+		mojo.packageName = "dev.bodewig.mimic.maven.plugin.generated";
+		mojo.accessor = AccessorMode.REFLECTION;
+		mojo.features = features;
+		mojo.stateFile = state;
+		mojo.pluginVersion = "test";
+		mojo.execute();
+	}
+
+	private static File mimic(File output, String name) {
+		return new File(output, "dev/bodewig/mimic/maven/plugin/generated/" + name + ".java");
+	}
+
+	private static void age(File... files) {
+		for (File file : files) {
+			assertTrue(file.setLastModified(OLD));
+		}
+	}
+}
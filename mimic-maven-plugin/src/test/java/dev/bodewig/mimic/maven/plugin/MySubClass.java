@@ -0,0 +1,7 @@
+package dev.bodewig.mimic.maven.plugin;
+
+@SuppressWarnings("unused")
+public class MySubClass extends MyTestClass {
+
+	protected long id = 1;
+}
@@ -1,11 +1,15 @@
 package dev.bodewig.mimic.maven.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import dev.bodewig.mimic.generator.AccessorMode;
+import dev.bodewig.mimic.generator.MimicOptions;
 import dev.bodewig.mimic.maven.test.generated.MyTestClassMimic;
 import dev.bodewig.mimic.maven.test.generated.MySubClassMimic;
+import dev.bodewig.mimic.maven.test.generated.dependency.MimicOptionsMimic;
 
 class MimicTest {
 
@@ -53,4 +57,40 @@ class MimicTest {
 		mimic.setName("private");
 		assertEquals("private", mimic.getName());
 	}
+
+	@Test
+	void getPrivateHandle() {
+		MyTestClass orig = new MyTestClass();
+		dev.bodewig.mimic.maven.test.generated.handle.MyTestClassMimic mimic = new dev.bodewig.mimic.maven.test.generated.handle.MyTestClassMimic(
+				orig);
+		assertEquals("test", mimic.getName());
+	}
+
+	@Test
+	void setInheritedHandle() {
+		MySubClass sub = new MySubClass();
+		dev.bodewig.mimic.maven.test.generated.handle.MySubClassMimic mimic = new dev.bodewig.mimic.maven.test.generated.handle.MySubClassMimic(
+				sub);
+		mimic.setName("private");
+		assertEquals("private", mimic.getName());
+		mimic.setId(2);
+		assertEquals(2, mimic.getId());
+	}
+
+	@Test
+	void atomicHandle() {
+		MySubClass sub = new MySubClass();
+		dev.bodewig.mimic.maven.test.generated.handle.MySubClassMimic mimic = new dev.bodewig.mimic.maven.test.generated.handle.MySubClassMimic(
+				sub);
+		assertEquals(1, mimic.getAndAddId(2));
+		assertTrue(mimic.compareAndSetName("test", "swapped"));
+		assertEquals("swapped", mimic.getNameVolatile());
+	}
+
+	@Test
+	void getPrivateDependency() {
+		MimicOptions options = new MimicOptions(AccessorMode.VAR_HANDLE);
+		MimicOptionsMimic mimic = new MimicOptionsMimic(options);
+		assertEquals(AccessorMode.VAR_HANDLE, mimic.getAccessorMode());
+	}
 }
@@ -0,0 +1,4 @@
+package dev.bodewig.mimic.runtime.test;
+
+public record MyRecord(int x, String label) {
+}
@@ -0,0 +1,9 @@
+package dev.bodewig.mimic.runtime.test;
+
+@SuppressWarnings("unused")
+public class MySubClass extends MyTestClass {
+
+	protected long id = 1;
+
+	private final String label = String.valueOf("final");
+}
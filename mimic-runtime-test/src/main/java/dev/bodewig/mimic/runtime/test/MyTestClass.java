@@ -0,0 +1,9 @@
+package dev.bodewig.mimic.runtime.test;
+
+@SuppressWarnings("unused")
+public class MyTestClass {
+
+	public int count = 1;
+
+	private String name = "test";
+}
@@ -0,0 +1,87 @@
+package dev.bodewig.mimic.runtime.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.bodewig.mimic.runtime.MimicField;
+import dev.bodewig.mimic.runtime.Mimics;
+import dev.bodewig.mimic.runtime.RuntimeMimic;
+
+class MimicTest {
+
+	private static final MimicField<MySubClass> ID = Mimics.of(MySubClass.class).field("id");
+
+	@Test
+	void getPublic() {
+		MyTestClass orig = new MyTestClass();
+		assertEquals(1, Mimics.of(MyTestClass.class).get(orig, "count"));
+	}
+
+	@Test
+	void getPrivate() {
+		MyTestClass orig = new MyTestClass();
+		assertEquals("test", Mimics.of(MyTestClass.class).get(orig, "name"));
+	}
+
+	@Test
+	void setPrivate() {
+		MyTestClass orig = new MyTestClass();
+		RuntimeMimic<MyTestClass> mimic = Mimics.of(MyTestClass.class);
+		mimic.set(orig, "name", "private");
+		assertEquals("private", mimic.get(orig, "name"));
+	}
+
+	@Test
+	void getInherited() {
+		MySubClass sub = new MySubClass();
+		assertEquals("test", Mimics.of(MySubClass.class).get(sub, "name"));
+	}
+
+	@Test
+	void setFinal() {
+		MySubClass sub = new MySubClass();
+		RuntimeMimic<MySubClass> mimic = Mimics.of(MySubClass.class);
+		mimic.set(sub, "label", "changed");
+		assertEquals("changed", mimic.get(sub, "label"));
+	}
+
+	@Test
+	void primitive() {
+		MySubClass sub = new MySubClass();
+		ID.setLong(sub, 1_000_000L);
+		assertEquals(1_000_000L, ID.getLong(sub));
+		assertEquals(long.class, ID.type());
+	}
+
+	@Test
+	void cached() {
+		assertSame(Mimics.of(MySubClass.class), Mimics.of(MySubClass.class));
+		assertEquals(4, Mimics.of(MySubClass.class).getFields().size());
+	}
+
+	@Test
+	void unknownField() {
+		assertThrows(IllegalArgumentException.class, () -> Mimics.of(MyTestClass.class).field("missing"));
+	}
+
+	@Test
+	void fieldOrder() {
+		List<String> names = Mimics.of(MySubClass.class).getFields().stream().map(MimicField::name).toList();
+		assertEquals(List.of("count", "name", "id", "label"), names);
+	}
+
+	@Test
+	void record() {
+		MyRecord rec = new MyRecord(3, "record");
+		RuntimeMimic<MyRecord> mimic = Mimics.of(MyRecord.class);
+		assertEquals(3, mimic.field("x").getInt(rec));
+		assertEquals("record", mimic.get(rec, "label"));
+		assertThrows(UnsupportedOperationException.class, () -> mimic.field("x").setInt(rec, 4));
+		assertThrows(UnsupportedOperationException.class, () -> mimic.set(rec, "label", "changed"));
+	}
+}
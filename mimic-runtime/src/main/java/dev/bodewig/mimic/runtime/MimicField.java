@@ -0,0 +1,352 @@
+package dev.bodewig.mimic.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+
+import dev.bodewig.mimic.generator.FieldAdapter;
+
+/**
+ * A field of a {@link RuntimeMimic}, accessed via a {@link VarHandle}.
+ * <p>
+ * The JIT trusts the components of a record like {@code static final} fields.
+ * If a {@code MimicField} is stored in a {@code static final} constant, its
+ * handle is constant-folded and the accessors cost about the same as a direct
+ * field access. Primitive fields should be accessed with the typed accessors,
+ * e.g. {@link #getInt(Object)}, to avoid boxing. Only writing a final field
+ * boxes the value, since it is written with the {@code setter}.
+ *
+ * @param <T>            The type of the mimicked class
+ * @param name           The name of the field
+ * @param type           The type of the field
+ * @param declaringClass The class declaring the field
+ * @param isStatic       If the field is static
+ * @param handle         The handle to access the field
+ * @param setter         The handle to write the field if it is final, otherwise
+ *                       {@code null}. It takes the instance, also if the field
+ *                       is static, and the new value. If a final field cannot
+ *                       be written, e.g. the component of a record, the handle
+ *                       throws an {@link UnsupportedOperationException}.
+ */
+public record MimicField<T>(String name, Class<?> type, Class<?> declaringClass, boolean isStatic, VarHandle handle,
+		MethodHandle setter) {
+
+	/**
+	 * Creates a {@code MimicField} for the given {@link FieldAdapter}
+	 *
+	 * @param <T> The type of the mimicked class
+	 * @param f   The field to create a {@code MimicField} for
+	 * @return The {@code MimicField}
+	 */
+	static <T> MimicField<T> of(FieldAdapter<Class<?>> f) {
+		Class<?> declaringClass = f.getDeclaringClass();
+		try {
+			Field field = declaringClass.getDeclaredField(f.getName());
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+			MethodHandle setter = null;
+			if (f.isFinal()) {
+				setter = finalSetter(lookup, field, f.isStatic());
+			}
+			return new MimicField<>(f.getName(), field.getType(), declaringClass, f.isStatic(),
+					lookup.unreflectVarHandle(field), setter);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new RuntimeException("Could not access field " + f.getName() + " of " + declaringClass.getName(),
+					e);
+		}
+	}
+
+	/**
+	 * Creates the handle to write a final field. Final fields of records and
+	 * hidden classes cannot be written, their handle throws an
+	 * {@link UnsupportedOperationException} so the field can still be read.
+	 *
+	 * @param lookup   The lookup with private access to the declaring class
+	 * @param field    The final field
+	 * @param isStatic If the field is static
+	 * @return The handle taking the instance, ignored if the field is static, and
+	 *         the new value
+	 * @throws IllegalAccessException If the handle to reject writes cannot be
+	 *                                created
+	 */
+	private static MethodHandle finalSetter(MethodHandles.Lookup lookup, Field field, boolean isStatic)
+			throws IllegalAccessException {
+		try {
+			field.setAccessible(true);
+			MethodHandle setter = lookup.unreflectSetter(field);
+			return isStatic ? MethodHandles.dropArguments(setter, 0, field.getDeclaringClass()) : setter;
+		} catch (IllegalAccessException e) {
+			MethodHandle readOnly;
+			try {
+				readOnly = MethodHandles.lookup().findStatic(MimicField.class, "readOnly",
+						MethodType.methodType(void.class, String.class));
+			} catch (NoSuchMethodException e1) {
+				throw new IllegalStateException(e1);
+			}
+			readOnly = readOnly.bindTo(field.getName() + " of " + field.getDeclaringClass().getName());
+			return MethodHandles.dropArguments(readOnly, 0, field.getDeclaringClass(), field.getType());
+		}
+	}
+
+	/**
+	 * Rejects writing a final field that cannot be written
+	 *
+	 * @param field The name of the field and its declaring class
+	 */
+	@SuppressWarnings("unused")
+	private static void readOnly(String field) {
+		throw new UnsupportedOperationException("Cannot write final field " + field);
+	}
+
+	/**
+	 * Writes the final field with the {@link #setter()}, boxing primitive values
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 * @throws UnsupportedOperationException If the final field cannot be written
+	 */
+	private void setFinal(T instance, Object value) {
+		try {
+			setter.invoke(instance, value);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Reads the field, boxing primitive values
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public Object get(T instance) {
+		return isStatic ? handle.get() : handle.get(instance);
+	}
+
+	/**
+	 * Writes the field, unboxing primitive values
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void set(T instance, Object value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code boolean} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public boolean getBoolean(T instance) {
+		return isStatic ? (boolean) handle.get() : (boolean) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code boolean} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setBoolean(T instance, boolean value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code byte} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public byte getByte(T instance) {
+		return isStatic ? (byte) handle.get() : (byte) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code byte} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setByte(T instance, byte value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code char} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public char getChar(T instance) {
+		return isStatic ? (char) handle.get() : (char) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code char} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setChar(T instance, char value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code short} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public short getShort(T instance) {
+		return isStatic ? (short) handle.get() : (short) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code short} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setShort(T instance, short value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code int} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public int getInt(T instance) {
+		return isStatic ? (int) handle.get() : (int) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code int} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setInt(T instance, int value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code long} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public long getLong(T instance) {
+		return isStatic ? (long) handle.get() : (long) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code long} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setLong(T instance, long value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code float} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public float getFloat(T instance) {
+		return isStatic ? (float) handle.get() : (float) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code float} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setFloat(T instance, float value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+
+	/**
+	 * Reads a {@code double} field without boxing
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @return The field value
+	 */
+	public double getDouble(T instance) {
+		return isStatic ? (double) handle.get() : (double) handle.get(instance);
+	}
+
+	/**
+	 * Writes a {@code double} field without boxing
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param value    The new field value
+	 */
+	public void setDouble(T instance, double value) {
+		if (setter != null) {
+			setFinal(instance, value);
+		} else if (isStatic) {
+			handle.set(value);
+		} else {
+			handle.set(instance, value);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package dev.bodewig.mimic.runtime;
+
+/**
+ * Use {@link #of(Class)} to create a Mimic at runtime for a class that is not
+ * known at build time.
+ * <p>
+ * A runtime Mimic is created once per class and cached in a {@link ClassValue},
+ * so subsequent calls only cost a lookup. Its fields are accessed via
+ * {@link java.lang.invoke.VarHandle}s, see {@link MimicField} to get the same
+ * performance as a generated Mimic.
+ */
+public final class Mimics {
+
+	/**
+	 * The cached Mimics per class
+	 */
+	private static final ClassValue<RuntimeMimic<?>> MIMICS = new ClassValue<>() {
+
+		@Override
+		protected RuntimeMimic<?> computeValue(Class<?> type) {
+			return RuntimeMimic.create(type);
+		}
+	};
+
+	/**
+	 * Default constructor
+	 */
+	private Mimics() {
+	}
+
+	/**
+	 * Returns the Mimic for the given class, creating it on the first call
+	 *
+	 * @param <T>   The type of the class
+	 * @param clazz The class to create a Mimic for
+	 * @return The Mimic for the class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> RuntimeMimic<T> of(Class<T> clazz) {
+		return (RuntimeMimic<T>) MIMICS.get(clazz);
+	}
+}
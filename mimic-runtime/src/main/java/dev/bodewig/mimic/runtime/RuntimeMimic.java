@@ -0,0 +1,132 @@
+package dev.bodewig.mimic.runtime;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.bodewig.mimic.generator.FieldAdapter;
+import dev.bodewig.mimic.generator.ModelAdapter;
+
+/**
+ * A Mimic created at runtime with accessors for all fields of a class and its
+ * superclasses, except for constants.
+ * <p>
+ * Use {@link Mimics#of(Class)} to get the cached instance for a class.
+ *
+ * @param <T> The type of the mimicked class
+ */
+public final class RuntimeMimic<T> {
+
+	/**
+	 * The mimicked class
+	 */
+	private final Class<T> type;
+
+	/**
+	 * The fields by name
+	 */
+	private final Map<String, MimicField<T>> fields;
+
+	/**
+	 * Constructor with the mimicked class and its fields
+	 *
+	 * @param type   The mimicked class
+	 * @param fields The fields by name
+	 */
+	private RuntimeMimic(Class<T> type, Map<String, MimicField<T>> fields) {
+		this.type = type;
+		this.fields = Collections.unmodifiableMap(fields);
+	}
+
+	/**
+	 * Creates a Mimic for the given class from its {@link ModelAdapter}. If a field
+	 * is shadowed, the field of the subclass is used.
+	 *
+	 * @param <T>  The type of the class
+	 * @param type The class to create a Mimic for
+	 * @return The Mimic for the class
+	 */
+	static <T> RuntimeMimic<T> create(Class<T> type) {
+		Map<String, MimicField<T>> fields = new LinkedHashMap<>();
+		for (FieldAdapter<Class<?>> f : ModelAdapter.fromClass(type).getFields()) {
+			if (!f.isConstant()) {
+				fields.merge(f.getName(), MimicField.of(f), (a, b) -> a.declaringClass()
+						.isAssignableFrom(b.declaringClass()) ? b : a);
+			}
+		}
+		return new RuntimeMimic<>(type, fields);
+	}
+
+	/**
+	 * Returns the mimicked class
+	 *
+	 * @return The mimicked class
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Returns all fields of the mimicked class
+	 *
+	 * @return The fields
+	 */
+	public Collection<MimicField<T>> getFields() {
+		return fields.values();
+	}
+
+	/**
+	 * Returns the field with the given name. Store the result in a
+	 * {@code static final} constant to access the field as fast as with a
+	 * generated Mimic.
+	 *
+	 * @param name The name of the field
+	 * @return The field
+	 * @throws IllegalArgumentException If the class has no such field
+	 */
+	public MimicField<T> field(String name) {
+		MimicField<T> field = fields.get(name);
+		if (field == null) {
+			throw new IllegalArgumentException("Unknown field " + name + " in " + type.getName());
+		}
+		return field;
+	}
+
+	/**
+	 * Reads the field with the given name
+	 * <p>
+	 * This is the slow path: the field is looked up by name and primitive values
+	 * are boxed on every call. Use the typed accessors of a cached
+	 * {@link #field(String)} in hot code.
+	 *
+	 * @param instance The instance to read from, ignored for static fields
+	 * @param name     The name of the field
+	 * @return The field value
+	 * @throws IllegalArgumentException If the class has no such field
+	 */
+	public Object get(T instance, String name) {
+		return field(name).get(instance);
+	}
+
+	/**
+	 * Writes the field with the given name
+	 * <p>
+	 * This is the slow path: the field is looked up by name and primitive values
+	 * are unboxed on every call. Use the typed accessors of a cached
+	 * {@link #field(String)} in hot code.
+	 *
+	 * @param instance The instance to write to, ignored for static fields
+	 * @param name     The name of the field
+	 * @param value    The new field value
+	 * @throws IllegalArgumentException If the class has no such field
+	 */
+	public void set(T instance, String name, Object value) {
+		field(name).set(instance, value);
+	}
+
+	@Override
+	public String toString() {
+		return "RuntimeMimic(" + type.getName() + ", " + fields.keySet() + ")";
+	}
+}